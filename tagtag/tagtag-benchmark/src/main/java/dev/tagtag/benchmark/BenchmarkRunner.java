@@ -0,0 +1,43 @@
+package dev.tagtag.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 基准入口：参数与 JMH 命令行一致，未指定 -rf/-rff 时结果以 JSON 写入 target/jmh-result.json（可用 -Djmh.result 指定），便于跨构建比较
+ * 用法：java -jar tagtag-benchmark/target/benchmarks.jar [正则] [JMH 参数]
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp()) {
+            cmd.showHelp();
+            return;
+        }
+        if (cmd.shouldList()) {
+            new Runner(cmd).list();
+            return;
+        }
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmd.getResult().hasValue()) {
+            Path result = Path.of(System.getProperty("jmh.result", DEFAULT_RESULT_FILE)).toAbsolutePath();
+            Files.createDirectories(result.getParent());
+            builder.result(result.toString());
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,154 @@
+package dev.tagtag.benchmark.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tagtag.contract.iam.dto.MenuDTO;
+import dev.tagtag.contract.iam.dto.UserDTO;
+import dev.tagtag.framework.cache.VersionedRedisSerializer;
+import dev.tagtag.framework.config.JacksonConfig;
+import dev.tagtag.framework.config.RedisConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 缓存值序列化对比：GenericJackson2JsonRedisSerializer vs Smile（带版本字节），以及是否开启 LZ4 压缩
+ * 数据形状与线上缓存一致：菜单树（menuTree）、用户详情（userById）、权限编码集合（roleMenuCodes）
+ * 负载字节数在 Setup 阶段输出
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    private static final int COMPRESS_THRESHOLD = 1024;
+
+    @Param({"json", "smile"})
+    public String serializer;
+
+    @Param({"menuTree", "user", "permCodes"})
+    public String shape;
+
+    @Param({"off", "lz4"})
+    public String compression;
+
+    private RedisSerializer<Object> redisSerializer;
+    private Object value;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper redisObjectMapper = new RedisConfig().redisObjectMapper(new JacksonConfig().objectMapper());
+        VersionedRedisSerializer.Format format = "smile".equals(serializer)
+                ? VersionedRedisSerializer.Format.SMILE
+                : VersionedRedisSerializer.Format.JSON;
+        int threshold = "lz4".equals(compression) ? COMPRESS_THRESHOLD : -1;
+        redisSerializer = format == VersionedRedisSerializer.Format.JSON && threshold < 0
+                ? new GenericJackson2JsonRedisSerializer(redisObjectMapper)
+                : new VersionedRedisSerializer(redisObjectMapper, format, threshold, null);
+        value = switch (shape) {
+            case "menuTree" -> menuTree(8, 6, 4);
+            case "user" -> user();
+            default -> permCodes(200);
+        };
+        payload = redisSerializer.serialize(value);
+        System.out.printf("%n[payload] serializer=%s shape=%s compression=%s bytes=%d%n", serializer, shape, compression, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return redisSerializer.deserialize(payload);
+    }
+
+    /**
+     * 构造三层菜单树（目录/菜单/按钮）
+     */
+    static List<MenuDTO> menuTree(int dirs, int menusPerDir, int buttonsPerMenu) {
+        List<MenuDTO> roots = new ArrayList<>();
+        long id = 1;
+        for (int d = 0; d < dirs; d++) {
+            MenuDTO dir = menu(id++, 0L, "dir" + d, 0);
+            for (int m = 0; m < menusPerDir; m++) {
+                MenuDTO menu = menu(id++, dir.getId(), "dir" + d + ":menu" + m, 1);
+                for (int b = 0; b < buttonsPerMenu; b++) {
+                    menu.getChildren().add(menu(id++, menu.getId(), "dir" + d + ":menu" + m + ":btn" + b, 2));
+                }
+                dir.getChildren().add(menu);
+            }
+            roots.add(dir);
+        }
+        return roots;
+    }
+
+    private static MenuDTO menu(long id, Long parentId, String code, int type) {
+        MenuDTO dto = new MenuDTO();
+        dto.setId(id);
+        dto.setParentId(parentId);
+        dto.setMenuCode(code);
+        dto.setMenuName("菜单-" + code);
+        dto.setPath(type == 2 ? null : "/" + code.replace(':', '/'));
+        dto.setComponent(type == 1 ? "/views/" + code.replace(':', '/') + "/index" : null);
+        dto.setIcon(type == 2 ? null : "lucide:layout-dashboard");
+        dto.setSort((int) id);
+        dto.setStatus(1);
+        dto.setMenuType(type);
+        dto.setHideInMenu(false);
+        dto.setKeepAlive(type == 1);
+        dto.setChildren(new ArrayList<>());
+        return dto;
+    }
+
+    static UserDTO user() {
+        UserDTO dto = new UserDTO();
+        dto.setId(10001L);
+        dto.setUsername("admin");
+        dto.setPassword("$2a$10$7JB720yubVSZvUI0rEqK/.VqGOZTH.ulu33dHOiBE8ByOhJIrdAu2");
+        dto.setNickname("管理员");
+        dto.setEmail("admin@tagtag.dev");
+        dto.setPhone("13800000000");
+        dto.setGender(1);
+        dto.setDeptId(1L);
+        dto.setStatus(1);
+        dto.setIsAdmin(1);
+        dto.setRoleIds(List.of(1L, 2L, 3L));
+        dto.setCreateTime(LocalDateTime.of(2024, 1, 1, 0, 0));
+        dto.setPasswordUpdatedAt(LocalDateTime.of(2024, 6, 1, 12, 0));
+        dto.setDeptName("研发部");
+        return dto;
+    }
+
+    static Set<String> permCodes(int size) {
+        String[] resources = {"user", "role", "menu", "dept", "dictType", "dictData", "message", "file", "stats", "config"};
+        String[] actions = {"create", "update", "delete", "read", "export", "import", "assign", "audit", "reset", "view"};
+        Set<String> codes = new LinkedHashSet<>();
+        for (int i = 0; codes.size() < size; i++) {
+            codes.add(resources[i % resources.length] + ":" + actions[(i / resources.length) % actions.length] + (i >= 100 ? i : ""));
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,96 @@
+package dev.tagtag.benchmark.security;
+
+import dev.tagtag.framework.security.config.JwtAuthenticationConfig;
+import dev.tagtag.framework.security.config.PrincipalJwtAuthenticationConverter;
+import dev.tagtag.framework.security.context.AuthContext;
+import dev.tagtag.framework.security.model.UserPrincipal;
+import dev.tagtag.framework.security.util.SecurityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每个请求的权限路径：声明转权限（JwtGrantedAuthoritiesConverter）、构建主体（AuthContext.buildPrincipal）、
+ * 认证阶段缓存的主体（AuthContext.getCurrentPrincipal）以及 SecurityUtils.hasAuthority 命中（最后一个权限）与未命中，
+ * 覆盖常见的权限集合规模；auth=principal 为 PrincipalAuthenticationToken（哈希查找），auth=plain 为普通 JwtAuthenticationToken（遍历）
+ * 使用 perms 列表声明；线程级状态保证安全上下文设置在执行基准的线程上
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorityBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int permCount;
+
+    @Param({"principal", "plain"})
+    public String auth;
+
+    private JwtAuthenticationConfig.JwtGrantedAuthoritiesConverter converter;
+    private Jwt jwt;
+    private String lastPermission;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        converter = new JwtAuthenticationConfig.JwtGrantedAuthoritiesConverter(null);
+        Instant now = Instant.now();
+        jwt = Jwt.withTokenValue("benchmark")
+                .header("alg", "HS256")
+                .subject("admin")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .claims(c -> c.putAll(SecurityFixtures.claims(permCount, "access")))
+                .build();
+        List<String> perms = SecurityFixtures.permissions(permCount);
+        lastPermission = perms.get(perms.size() - 1);
+        SecurityContextHolder.getContext().setAuthentication("principal".equals(auth)
+                ? new PrincipalJwtAuthenticationConverter(converter).convert(jwt)
+                : new JwtAuthenticationToken(jwt, converter.convert(jwt)));
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> convert() {
+        return converter.convert(jwt);
+    }
+
+    @Benchmark
+    public UserPrincipal buildPrincipal() {
+        return AuthContext.buildPrincipal(jwt);
+    }
+
+    @Benchmark
+    public UserPrincipal currentPrincipal() {
+        return AuthContext.getCurrentPrincipal();
+    }
+
+    @Benchmark
+    public boolean hasAuthorityHit() {
+        return SecurityUtils.hasAuthority(lastPermission);
+    }
+
+    @Benchmark
+    public boolean hasAuthorityMiss() {
+        return SecurityUtils.hasAuthority("sys:unknown:action");
+    }
+}
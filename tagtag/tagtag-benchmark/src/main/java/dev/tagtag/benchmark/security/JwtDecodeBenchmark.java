@@ -0,0 +1,64 @@
+package dev.tagtag.benchmark.security;
+
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.service.CachingJwtDecoder;
+import dev.tagtag.framework.security.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 资源服务器解码：NimbusJwtDecoder（各算法的解码策略）与已验签缓存 CachingJwtDecoder 命中时的对比
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtDecodeBenchmark {
+
+    @Param({"hs256", "rs256", "es256", "eddsa"})
+    public String alg;
+
+    @Param({"10", "50", "200"})
+    public int permCount;
+
+    private JwtDecoder decoder;
+    private JwtDecoder cachingDecoder;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JwtProperties props = SecurityFixtures.jwtProperties(alg);
+        token = new JwtService(props, SecurityFixtures.signerStrategy(alg, props))
+                .generateToken(SecurityFixtures.claims(permCount, "access"), "admin", 3600);
+        decoder = SecurityFixtures.decoderStrategy(alg, props).createDecoder();
+        cachingDecoder = new CachingJwtDecoder(SecurityFixtures.decoderStrategy(alg, props).createDecoder(),
+                10000, Duration.ofSeconds(5), null);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return decoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt cachedDecode() {
+        return cachingDecoder.decode(token);
+    }
+}
@@ -0,0 +1,51 @@
+package dev.tagtag.benchmark.security;
+
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 签发访问令牌：JwtService.generateToken 在各签名策略下的耗时（声明含 50 个权限编码）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    private static final long ACCESS_TTL = 3600;
+
+    @Param({"hs256", "rs256", "es256", "eddsa"})
+    public String alg;
+
+    private JwtService jwtService;
+    private Map<String, Object> claims;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JwtProperties props = SecurityFixtures.jwtProperties(alg);
+        jwtService = new JwtService(props, SecurityFixtures.signerStrategy(alg, props));
+        claims = SecurityFixtures.claims(50, "access");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(claims, "admin", ACCESS_TTL);
+    }
+}
@@ -0,0 +1,75 @@
+package dev.tagtag.benchmark.security;
+
+import dev.tagtag.framework.config.SecurityProperties;
+import dev.tagtag.framework.security.util.PermitPathMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 公开路径匹配：编译后的路径段前缀树 vs 逐条 PathPattern 匹配
+ * extra 为额外追加的合成规则数量（模拟大量 permit-paths 配置）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PermitPathMatcherBenchmark {
+
+    @Param({"0", "200"})
+    public int extra;
+
+    @Param({"/api/auth/login", "/api/storage/files/view/2024/a.png", "/api/sys/user/page"})
+    public String path;
+
+    private PermitPathMatcher trie;
+    private List<PathPattern> pathPatterns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SecurityProperties props = new SecurityProperties();
+        List<String> permitPaths = new ArrayList<>(List.of("/actuator/health", "/actuator/health/liveness",
+                "/actuator/health/readiness", "/actuator/info", "/api/storage/files/view/**"));
+        for (int i = 0; i < extra; i++) {
+            permitPaths.add("/api/open/module" + i + "/{id}/**");
+        }
+        props.setPermitPaths(permitPaths);
+        List<String> patterns = props.getEffectivePermitPaths();
+        trie = PermitPathMatcher.compile(patterns);
+        pathPatterns = patterns.stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    @Benchmark
+    public boolean trie() {
+        return trie.matches(path);
+    }
+
+    @Benchmark
+    public boolean pathPatterns() {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : pathPatterns) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,111 @@
+package dev.tagtag.benchmark.security;
+
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.strategy.JwtDecoderStrategy;
+import dev.tagtag.framework.security.strategy.JwtSignerStrategy;
+import dev.tagtag.framework.security.strategy.impl.EcJwtDecoderStrategy;
+import dev.tagtag.framework.security.strategy.impl.EcJwtSignerStrategy;
+import dev.tagtag.framework.security.strategy.impl.Ed25519JwtDecoderStrategy;
+import dev.tagtag.framework.security.strategy.impl.Ed25519JwtSignerStrategy;
+import dev.tagtag.framework.security.strategy.impl.HmacJwtDecoderStrategy;
+import dev.tagtag.framework.security.strategy.impl.HmacJwtSignerStrategy;
+import dev.tagtag.framework.security.strategy.impl.RsaJwtDecoderStrategy;
+import dev.tagtag.framework.security.strategy.impl.RsaJwtSignerStrategy;
+import dev.tagtag.kernel.constant.SecurityClaims;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 安全相关基准的公共数据：按算法生成密钥配置与策略，以及与 TokenFactory.buildClaims 同形状的声明
+ */
+final class SecurityFixtures {
+
+    static final String HMAC_SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private SecurityFixtures() {}
+
+    /**
+     * 按算法生成 JWT 配置（hs256 / rs256 / es256 / eddsa），非对称算法使用新生成的密钥对
+     */
+    static JwtProperties jwtProperties(String alg) throws GeneralSecurityException {
+        JwtProperties props = new JwtProperties();
+        switch (alg) {
+            case "rs256" -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                setKeyPair(props, generator.generateKeyPair());
+            }
+            case "es256" -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                setKeyPair(props, generator.generateKeyPair());
+            }
+            case "eddsa" -> setKeyPair(props, KeyPairGenerator.getInstance("Ed25519").generateKeyPair());
+            default -> props.setSecret(HMAC_SECRET);
+        }
+        return props;
+    }
+
+    static JwtSignerStrategy signerStrategy(String alg, JwtProperties props) {
+        return switch (alg) {
+            case "rs256" -> new RsaJwtSignerStrategy(props);
+            case "es256" -> new EcJwtSignerStrategy(props);
+            case "eddsa" -> new Ed25519JwtSignerStrategy(props);
+            default -> new HmacJwtSignerStrategy(props);
+        };
+    }
+
+    static JwtDecoderStrategy decoderStrategy(String alg, JwtProperties props) {
+        return switch (alg) {
+            case "rs256" -> new RsaJwtDecoderStrategy(props);
+            case "es256" -> new EcJwtDecoderStrategy(props);
+            case "eddsa" -> new Ed25519JwtDecoderStrategy(props);
+            default -> new HmacJwtDecoderStrategy(props);
+        };
+    }
+
+    /**
+     * 权限编码（按模块分组，形如 sys:module3:action17）
+     */
+    static List<String> permissions(int count) {
+        List<String> perms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            perms.add("sys:module" + (i / 5) + ":action" + i);
+        }
+        return perms;
+    }
+
+    /**
+     * 与 TokenFactory.buildClaims 相同形状的声明（perms 列表形式）
+     */
+    static Map<String, Object> claims(int permCount, String typ) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(SecurityClaims.UID, 1L);
+        claims.put(SecurityClaims.UNAME, "admin");
+        claims.put(SecurityClaims.ROLES, List.of(1L, 2L));
+        claims.put(SecurityClaims.PERMS, permissions(permCount));
+        claims.put(SecurityClaims.VER, 3L);
+        claims.put(SecurityClaims.IS_ADMIN, 0);
+        claims.put(SecurityClaims.TYP, typ);
+        return claims;
+    }
+
+    private static void setKeyPair(JwtProperties props, KeyPair pair) {
+        props.setPrivateKeyPem(pem("PRIVATE KEY", pair.getPrivate().getEncoded()));
+        props.setPublicKeyPem(pem("PUBLIC KEY", pair.getPublic().getEncoded()));
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der)
+                + "\n-----END " + type + "-----";
+    }
+}
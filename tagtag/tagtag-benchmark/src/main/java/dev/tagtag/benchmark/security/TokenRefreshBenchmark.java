@@ -0,0 +1,96 @@
+package dev.tagtag.benchmark.security;
+
+import com.nimbusds.jwt.JWTClaimNames;
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.model.VerifiedToken;
+import dev.tagtag.framework.security.service.JwtService;
+import dev.tagtag.kernel.constant.SecurityClaims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 刷新令牌路径对比：旧实现（validateToken + getSubject + getClaims，三次解析）vs 一次解析的 verify
+ * inspect 只比较校验与取声明，refresh 额外包含两次签发（与 AuthServiceImpl.refresh 一致）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenRefreshBenchmark {
+
+    private static final long ACCESS_TTL = 3600;
+    private static final long REFRESH_TTL = 604800;
+
+    @Param({"hs256", "rs256", "es256", "eddsa"})
+    public String alg;
+
+    private JwtService jwtService;
+    private String refreshToken;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JwtProperties props = SecurityFixtures.jwtProperties(alg);
+        jwtService = new JwtService(props, SecurityFixtures.signerStrategy(alg, props));
+        refreshToken = jwtService.generateToken(SecurityFixtures.claims(50, "refresh"), "admin", REFRESH_TTL);
+    }
+
+    @Benchmark
+    public void legacyInspect(Blackhole bh) {
+        bh.consume(jwtService.validateToken(refreshToken));
+        bh.consume(jwtService.getSubject(refreshToken));
+        bh.consume(jwtService.getClaims(refreshToken));
+    }
+
+    @Benchmark
+    public VerifiedToken verifiedInspect() {
+        return jwtService.verify(refreshToken);
+    }
+
+    @Benchmark
+    public void legacyRefresh(Blackhole bh) {
+        if (!jwtService.validateToken(refreshToken)) {
+            throw new IllegalStateException("invalid token");
+        }
+        String subject = jwtService.getSubject(refreshToken);
+        Map<String, Object> claims = new HashMap<>(jwtService.getClaims(refreshToken));
+        claims.keySet().removeAll(List.of(JWTClaimNames.JWT_ID, JWTClaimNames.EXPIRATION_TIME,
+                JWTClaimNames.ISSUED_AT, JWTClaimNames.NOT_BEFORE));
+        issue(bh, claims, subject);
+    }
+
+    @Benchmark
+    public void verifiedRefresh(Blackhole bh) {
+        VerifiedToken token = jwtService.verify(refreshToken);
+        if (token == null) {
+            throw new IllegalStateException("invalid token");
+        }
+        issue(bh, token.customClaims(), token.getSubject());
+    }
+
+    private void issue(Blackhole bh, Map<String, Object> claims, String subject) {
+        Map<String, Object> access = new HashMap<>(claims);
+        access.put(SecurityClaims.TYP, "access");
+        bh.consume(jwtService.generateToken(access, subject, ACCESS_TTL));
+        Map<String, Object> refresh = new HashMap<>(claims);
+        refresh.put(SecurityClaims.TYP, "refresh");
+        bh.consume(jwtService.generateToken(refresh, subject, REFRESH_TTL));
+    }
+}
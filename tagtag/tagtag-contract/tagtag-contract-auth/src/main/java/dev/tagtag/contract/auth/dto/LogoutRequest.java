@@ -9,4 +9,6 @@ import lombok.Data;
 public class LogoutRequest {
     @NotBlank(message = "访问令牌不能为空")
     private String accessToken;
+    /** 刷新令牌（可选，传入时一并吊销） */
+    private String refreshToken;
 }
\ No newline at end of file
@@ -15,7 +15,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserDTO {
@@ -0,0 +1,31 @@
+package dev.tagtag.framework.aop;
+
+import dev.tagtag.framework.cache.MeteredCache;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * 缓存回源计时清理：包在缓存拦截器外层，方法调用结束时清除本次调用留下的未命中计时记录
+ * 未命中后方法返回空（unless 不写入）或抛出异常时不会有对应的写入，记录若不清除会一直留在线程上
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheLoadTimingAspect {
+
+    @Around("@annotation(org.springframework.cache.annotation.Cacheable) || @annotation(org.springframework.cache.annotation.Caching)")
+    public Object around(ProceedingJoinPoint pjp) throws Throwable {
+        Set<String> retained = MeteredCache.pendingLoads();
+        try {
+            return pjp.proceed();
+        } finally {
+            MeteredCache.clearPendingLoads(retained);
+        }
+    }
+}
@@ -2,6 +2,9 @@ package dev.tagtag.framework.aop;
 
 import dev.tagtag.common.exception.BusinessException;
 import dev.tagtag.common.exception.ErrorCode;
+import dev.tagtag.framework.ratelimit.HybridRateLimiter;
+import dev.tagtag.framework.ratelimit.RateLimitRule;
+import dev.tagtag.framework.ratelimit.RateLimitRules;
 import dev.tagtag.kernel.annotation.RateLimit;
 import dev.tagtag.kernel.constant.CacheConstants;
 import dev.tagtag.kernel.constant.SecurityConstants;
@@ -10,79 +13,105 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.annotation.Order;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.util.Collections;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 @Component
 @Order(Integer.MIN_VALUE + 20)
 public class RateLimitAspect {
 
-    private static final int MIN_PERIOD_SECONDS = 1;
-    private static final int MIN_PERMITS = 1;
     private static final String UNKNOWN_IP = "unknown";
 
-    private final StringRedisTemplate stringRedisTemplate;
-    private final DefaultRedisScript<Long> rateLimitScript;
+    private final HybridRateLimiter rateLimiter;
+    private final RateLimitRules rateLimitRules;
+    private final Map<Method, MethodLimit> methodLimits = new ConcurrentHashMap<>();
+    private final ExpressionParser expressionParser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
 
-    public RateLimitAspect(StringRedisTemplate stringRedisTemplate) {
-        this.stringRedisTemplate = stringRedisTemplate;
-        this.rateLimitScript = new DefaultRedisScript<>();
-        this.rateLimitScript.setScriptText(
-            "local current = redis.call('INCR', KEYS[1]);" +
-            "if current == 1 then redis.call('EXPIRE', KEYS[1], tonumber(ARGV[1])); end;" +
-            "if current > tonumber(ARGV[2]) then return 0 else return 1 end"
-        );
-        this.rateLimitScript.setResultType(Long.class);
+    public RateLimitAspect(HybridRateLimiter rateLimiter, RateLimitRules rateLimitRules) {
+        this.rateLimiter = rateLimiter;
+        this.rateLimitRules = rateLimitRules;
     }
 
     @Around("@annotation(limit)")
     public Object around(ProceedingJoinPoint pjp, RateLimit limit) throws Throwable {
-        if (limit == null || !limit.enabled()) {
+        if (limit == null) {
             return pjp.proceed();
         }
 
-        String key = buildKey(pjp, limit);
-        int period = Math.max(limit.periodSeconds(), MIN_PERIOD_SECONDS);
-        int permits = Math.max(limit.permits(), MIN_PERMITS);
+        MethodSignature ms = (MethodSignature) pjp.getSignature();
+        MethodLimit target = methodLimits.computeIfAbsent(ms.getMethod(), m -> MethodLimit.of(ms, limit));
+        RateLimitRule rule = rateLimitRules.resolve(target.name(), target.defaults());
+        if (!rule.enabled()) {
+            return pjp.proceed();
+        }
 
-        try {
-            List<String> keys = Collections.singletonList(key);
-            Long allowed = stringRedisTemplate.execute(
-                    rateLimitScript,
-                    keys,
-                    String.valueOf(period),
-                    String.valueOf(permits)
-            );
-            if (allowed == 0L) {
-                throw BusinessException.of(ErrorCode.TOO_MANY_REQUESTS, limit.message());
-            }
-        } catch (BusinessException be) {
-            throw be;
-        } catch (RuntimeException ignored) {
+        if (!rateLimiter.tryAcquire(buildLimits(pjp, ms, target, rule))) {
+            throw BusinessException.of(ErrorCode.TOO_MANY_REQUESTS, limit.message());
         }
 
         return pjp.proceed();
     }
 
-    private String buildKey(ProceedingJoinPoint pjp, RateLimit limit) {
-        String key = limit.key();
-        if (StringUtils.hasText(key)) {
-            return CacheConstants.RATE_LIMIT_KEY_PREFIX + key.trim();
+    /**
+     * 未声明维度时沿用原有键规则（指定 key 为全局键，否则为方法签名 + IP），声明维度时每个维度一个键
+     */
+    private List<HybridRateLimiter.Limit> buildLimits(ProceedingJoinPoint pjp, MethodSignature ms,
+                                                      MethodLimit target, RateLimitRule rule) {
+        String name = target.name();
+        if (rule.dimensions().isEmpty()) {
+            String key = target.named() ? name : name + ":" + clientIp();
+            return List.of(new HybridRateLimiter.Limit(CacheConstants.RATE_LIMIT_GCRA_KEY_PREFIX + key,
+                    rule.permits(), rule.periodSeconds(), rule.burst()));
+        }
+        List<HybridRateLimiter.Limit> limits = new ArrayList<>(rule.dimensions().size());
+        EvaluationContext context = null;
+        for (RateLimitRule.Dimension dimension : rule.dimensions()) {
+            String suffix;
+            switch (dimension.scope()) {
+                case GLOBAL -> suffix = "global";
+                case IP -> suffix = "ip:" + clientIp();
+                case ARG -> {
+                    if (context == null) {
+                        context = new MethodBasedEvaluationContext(null, ms.getMethod(), pjp.getArgs(), parameterNameDiscoverer);
+                    }
+                    Object value = expressions.computeIfAbsent(dimension.expression(), expressionParser::parseExpression)
+                            .getValue(context);
+                    String arg = value == null ? null : value.toString().trim();
+                    if (!StringUtils.hasText(arg)) {
+                        continue;
+                    }
+                    suffix = "arg:" + arg;
+                }
+                default -> throw new IllegalStateException("Unknown rate limit scope: " + dimension.scope());
+            }
+            limits.add(new HybridRateLimiter.Limit(CacheConstants.RATE_LIMIT_GCRA_KEY_PREFIX + name + ":" + suffix,
+                    dimension.permits(), dimension.periodSeconds(), dimension.burst()));
         }
+        return limits;
+    }
 
+    private String clientIp() {
         String ip = resolveClientIp();
-        MethodSignature ms = (MethodSignature) pjp.getSignature();
-        String sig = ms.getDeclaringTypeName() + "#" + ms.getName();
-        return CacheConstants.RATE_LIMIT_KEY_PREFIX + sig + ":" + (ip == null ? UNKNOWN_IP : ip);
+        return ip == null ? UNKNOWN_IP : ip;
     }
 
     private String resolveClientIp() {
@@ -106,4 +135,19 @@ public class RateLimitAspect {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 方法上的限流注解编译结果（每个方法只解析一次）
+     * @param name 规则名：注解 key，未指定时为方法签名
+     * @param named 是否指定了 key（未声明维度时决定是否按 IP 区分）
+     * @param defaults 注解规则
+     */
+    private record MethodLimit(String name, boolean named, RateLimitRule defaults) {
+
+        static MethodLimit of(MethodSignature ms, RateLimit limit) {
+            boolean named = StringUtils.hasText(limit.key());
+            String name = named ? limit.key().trim() : ms.getDeclaringTypeName() + "#" + ms.getName();
+            return new MethodLimit(name, named, RateLimitRule.of(limit));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package dev.tagtag.framework.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tagtag.kernel.constant.CacheConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 缓存命名空间代数（generation）
+ * 每个缓存在 Redis 中维护计数器 tagtag:&lt;cache&gt;:gen，并拼入缓存键前缀；
+ * 清空缓存只需 INCR 计数器，旧代数下的条目不再被访问，随 TTL 自然过期，清空耗时与条目数无关。
+ * 本节点缓存当前代数，通过 Pub/Sub 同步其他节点的递增，并按间隔回源 Redis 兜底丢失的消息。
+ */
+@Slf4j
+public class CacheGenerations implements MessageListener {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final long syncIntervalMillis;
+    private final ConcurrentMap<String, Generation> generations = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 构造函数
+     * @param stringRedisTemplate 计数器读写与消息发布
+     * @param objectMapper 消息序列化
+     * @param syncInterval 本地代数回源 Redis 的间隔
+     */
+    public CacheGenerations(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper, Duration syncInterval) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.syncIntervalMillis = syncInterval == null ? 0L : syncInterval.toMillis();
+    }
+
+    /**
+     * 计算带代数的缓存键前缀，形如 tagtag:dict:g3:
+     * @param cacheName 缓存名
+     * @return 键前缀
+     */
+    public String prefix(String cacheName) {
+        return CacheConstants.PREFIX + CacheConstants.SEPARATOR + cacheName + CacheConstants.SEPARATOR
+                + "g" + current(cacheName) + CacheConstants.SEPARATOR;
+    }
+
+    /**
+     * 获取缓存当前代数（本地命中时不访问 Redis）
+     * @param cacheName 缓存名
+     * @return 当前代数
+     */
+    public long current(String cacheName) {
+        Generation gen = generations.get(cacheName);
+        long now = System.currentTimeMillis();
+        if (gen != null && (syncIntervalMillis <= 0 || now - gen.loadedAt() < syncIntervalMillis)) {
+            return gen.value();
+        }
+        return sync(cacheName, gen, now);
+    }
+
+    /**
+     * 递增代数，使该缓存下的全部条目立即失效（O(1)）
+     * @param cacheName 缓存名
+     * @return 新代数
+     */
+    public long advance(String cacheName) {
+        Long value = stringRedisTemplate.opsForValue().increment(CacheConstants.keyCacheGeneration(cacheName));
+        long next = value == null ? 0L : value;
+        update(cacheName, next);
+        try {
+            stringRedisTemplate.convertAndSend(CacheConstants.CACHE_GENERATION_CHANNEL,
+                    objectMapper.writeValueAsString(new GenerationMessage(cacheName, next)));
+        } catch (Exception e) {
+            log.warn("Failed to publish cache generation: cache={}, gen={}", cacheName, next, e);
+        }
+        return next;
+    }
+
+    /**
+     * 注册代数变更回调（如清理本地 L1）
+     * @param listener 参数为缓存名
+     */
+    public void addListener(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 接收其他节点的代数递增
+     * @param message 消息
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            GenerationMessage msg = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), GenerationMessage.class);
+            if (msg == null || msg.cache() == null) {
+                return;
+            }
+            update(msg.cache(), msg.gen());
+        } catch (Exception e) {
+            log.warn("Failed to handle cache generation message", e);
+        }
+    }
+
+    private long sync(String cacheName, Generation cached, long now) {
+        try {
+            String raw = stringRedisTemplate.opsForValue().get(CacheConstants.keyCacheGeneration(cacheName));
+            long value = raw == null ? 0L : Long.parseLong(raw);
+            return update(cacheName, value);
+        } catch (Exception e) {
+            log.warn("Failed to load cache generation: cache={}", cacheName, e);
+            long value = cached == null ? 0L : cached.value();
+            generations.put(cacheName, new Generation(value, now));
+            return value;
+        }
+    }
+
+    /**
+     * 仅向前推进本地代数，代数变化时通知回调
+     */
+    private long update(String cacheName, long value) {
+        long now = System.currentTimeMillis();
+        Generation prev = generations.get(cacheName);
+        Generation merged = generations.merge(cacheName, new Generation(value, now),
+                (old, incoming) -> incoming.value() >= old.value() ? incoming : new Generation(old.value(), now));
+        if (prev != null && merged.value() > prev.value()) {
+            listeners.forEach(l -> l.accept(cacheName));
+        }
+        return merged.value();
+    }
+
+    private record Generation(long value, long loadedAt) {}
+
+    /**
+     * 代数变更消息体
+     * @param cache 缓存名
+     * @param gen 新代数
+     */
+    record GenerationMessage(String cache, long gen) {}
+}
@@ -0,0 +1,202 @@
+package dev.tagtag.framework.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 缓存巡检：列出缓存名、TTL、近似条目数与负载大小，并可抽样查看单个键
+ * 条目数通过 SCAN 当前键前缀统计（有上限，超出时标记为截断），负载大小取前若干个键的 STRLEN；
+ * 抽样只返回元数据（大小、TTL、值类型、L1 是否命中），不返回缓存值本身（如用户缓存中的密码哈希）
+ */
+public class CacheInspector {
+
+    private static final int SCAN_BATCH = 500;
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisSerializer<Object> valueSerializer;
+    private final int scanLimit;
+    private final int sampleSize;
+
+    /**
+     * 构造函数
+     * @param cacheManager 对外暴露的缓存管理器（可为多层包装）
+     * @param stringRedisTemplate Redis 访问
+     * @param valueSerializer 缓存值序列化器（抽样时反序列化以识别值类型）
+     * @param scanLimit 单个缓存最多扫描的键数
+     * @param sampleSize 统计负载大小的键数
+     */
+    public CacheInspector(CacheManager cacheManager, StringRedisTemplate stringRedisTemplate,
+                          RedisSerializer<Object> valueSerializer, int scanLimit, int sampleSize) {
+        this.cacheManager = cacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.valueSerializer = valueSerializer;
+        this.scanLimit = scanLimit;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * 列出全部缓存的概要
+     * @return 缓存概要列表（按名称排序）
+     */
+    public List<Map<String, Object>> describeAll() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (String name : new TreeSet<>(cacheManager.getCacheNames())) {
+            result.add(describe(name));
+        }
+        return result;
+    }
+
+    /**
+     * 描述单个缓存：TTL、键前缀、L1 条目数、Redis 近似条目数与负载大小
+     * @param cacheName 缓存名
+     * @return 缓存概要，缓存不存在时返回空
+     */
+    public Map<String, Object> describe(String cacheName) {
+        if (!exists(cacheName)) {
+            return null;
+        }
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("name", cacheName);
+        RedisCache redisCache = redisCache(cacheName);
+        if (redisCache != null) {
+            RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+            String prefix = config.getKeyPrefixFor(cacheName);
+            info.put("ttl", ttlOf(config));
+            info.put("keyPrefix", prefix);
+            info.put("redis", scan(prefix));
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> local = localCache(cacheName);
+        if (local != null) {
+            info.put("localEntries", local.estimatedSize());
+        }
+        return info;
+    }
+
+    /**
+     * 抽样查看单个键：Redis 键名、字节数、剩余 TTL、值类型及 L1 是否命中
+     * @param cacheName 缓存名
+     * @param key 缓存键（与 Redis 键后缀一致，集合键为逗号拼接）
+     * @return 抽样结果，缓存不存在时返回空
+     */
+    public Map<String, Object> sample(String cacheName, String key) {
+        RedisCache redisCache = exists(cacheName) ? redisCache(cacheName) : null;
+        if (redisCache == null) {
+            return null;
+        }
+        String redisKey = redisCache.getCacheConfiguration().getKeyPrefixFor(cacheName) + key;
+        byte[] rawKey = redisKey.getBytes(StandardCharsets.UTF_8);
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("cache", cacheName);
+        info.put("redisKey", redisKey);
+        stringRedisTemplate.execute((RedisCallback<Void>) connection -> {
+            byte[] raw = connection.stringCommands().get(rawKey);
+            info.put("exists", raw != null);
+            if (raw != null) {
+                info.put("bytes", raw.length);
+                info.put("ttlMillis", connection.keyCommands().pTtl(rawKey));
+                Object value = valueSerializer.deserialize(raw);
+                info.put("type", value == null ? null : value.getClass().getName());
+            }
+            return null;
+        });
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> local = localCache(cacheName);
+        if (local != null) {
+            info.put("localHit", local.getIfPresent(key) != null);
+        }
+        return info;
+    }
+
+    /**
+     * 仅巡检已存在的缓存，避免按任意名称动态创建缓存
+     */
+    private boolean exists(String cacheName) {
+        return cacheName != null && cacheManager.getCacheNames().contains(cacheName);
+    }
+
+    private Map<String, Object> scan(String prefix) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stringRedisTemplate.execute((RedisCallback<Void>) connection -> {
+            long count = 0;
+            long sampledBytes = 0;
+            long maxBytes = 0;
+            int sampled = 0;
+            ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(SCAN_BATCH).build();
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext() && count < scanLimit) {
+                    byte[] key = cursor.next();
+                    count++;
+                    if (sampled < sampleSize) {
+                        long len = strLen(connection, key);
+                        sampledBytes += len;
+                        maxBytes = Math.max(maxBytes, len);
+                        sampled++;
+                    }
+                }
+                stats.put("entries", count);
+                stats.put("truncated", count >= scanLimit && cursor.hasNext());
+            }
+            stats.put("sampledKeys", sampled);
+            stats.put("avgPayloadBytes", sampled == 0 ? 0 : sampledBytes / sampled);
+            stats.put("maxPayloadBytes", maxBytes);
+            return null;
+        });
+        return stats;
+    }
+
+    private static long strLen(RedisConnection connection, byte[] key) {
+        Long len = connection.stringCommands().strLen(key);
+        return len == null ? 0L : len;
+    }
+
+    private static String ttlOf(RedisCacheConfiguration config) {
+        Duration ttl = config.getTtlFunction().getTimeToLive("", null);
+        return ttl == null || ttl.isZero() ? "none" : ttl.toString();
+    }
+
+    /**
+     * 沿包装链找到 Redis 缓存管理器并取出对应缓存
+     */
+    private RedisCache redisCache(String cacheName) {
+        CacheManager current = cacheManager;
+        while (current instanceof DelegatingCacheManager delegating) {
+            current = delegating.getDelegate();
+        }
+        if (current instanceof RedisCacheManager redisCacheManager) {
+            Cache cache = redisCacheManager.getCache(cacheName);
+            return cache instanceof RedisCache rc ? rc : null;
+        }
+        return null;
+    }
+
+    /**
+     * 沿包装链找到二级缓存管理器并取出对应 L1
+     */
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache(String cacheName) {
+        CacheManager current = cacheManager;
+        while (current instanceof DelegatingCacheManager delegating) {
+            if (current instanceof TwoLevelCacheManager twoLevel) {
+                return twoLevel.getLocalCache(cacheName);
+            }
+            current = delegating.getDelegate();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,94 @@
+package dev.tagtag.framework.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 精确缓存失效工具：按键驱逐，替代 allEntries = true 的整体清空
+ * 存在事务时在提交后执行，避免提交前被并发读取回填旧值
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * 驱逐单个缓存键
+     * @param cacheName 缓存名
+     * @param key 缓存键（为空时忽略）
+     */
+    public void evict(String cacheName, Object key) {
+        if (key == null) {
+            return;
+        }
+        evict(cacheName, List.of(key));
+    }
+
+    /**
+     * 批量驱逐缓存键（自动去重、忽略空键）
+     * @param cacheName 缓存名
+     * @param keys 缓存键集合
+     */
+    public void evict(String cacheName, Collection<?> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        Set<Object> uniq = new LinkedHashSet<>();
+        for (Object key : keys) {
+            if (key != null) {
+                uniq.add(key);
+            }
+        }
+        if (uniq.isEmpty()) {
+            return;
+        }
+        runAfterCommit(() -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                return;
+            }
+            for (Object key : uniq) {
+                cache.evict(key);
+            }
+            log.debug("cache evict: cache={}, keys={}", cacheName, uniq);
+        });
+    }
+
+    /**
+     * 清空整个缓存
+     * @param cacheName 缓存名
+     */
+    public void clear(String cacheName) {
+        runAfterCommit(() -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package dev.tagtag.framework.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本节点缓存版本号：按缓存名维护单调递增的计数器
+ * 二级缓存在本节点驱逐、清空以及收到其他节点的失效广播时递增，派生数据（如预序列化响应体）
+ * 记录生成时的版本，版本变化即需重建；仅在开启 L1 时有效（此时才有跨节点失效广播）。
+ */
+public class CacheVersions {
+
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 获取缓存当前版本
+     * @param cacheName 缓存名
+     * @return 当前版本（未变更过时为 0）
+     */
+    public long current(String cacheName) {
+        AtomicLong version = versions.get(cacheName);
+        return version == null ? 0L : version.get();
+    }
+
+    /**
+     * 递增缓存版本
+     * @param cacheName 缓存名
+     */
+    void bump(String cacheName) {
+        versions.computeIfAbsent(cacheName, n -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,15 @@
+package dev.tagtag.framework.cache;
+
+import org.springframework.cache.CacheManager;
+
+/**
+ * 包装型缓存管理器：暴露被包装的下一层，便于巡检时逐层定位 L1 与 Redis 缓存
+ */
+public interface DelegatingCacheManager extends CacheManager {
+
+    /**
+     * 获取被包装的缓存管理器
+     * @return 下一层缓存管理器
+     */
+    CacheManager getDelegate();
+}
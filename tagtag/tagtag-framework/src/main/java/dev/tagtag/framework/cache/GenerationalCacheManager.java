@@ -0,0 +1,52 @@
+package dev.tagtag.framework.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 代数缓存管理器：包装 Redis 缓存管理器，将清空操作替换为 O(1) 的代数递增
+ * 需配合 {@link CacheGenerations#prefix(String)} 作为键前缀计算函数使用
+ */
+public class GenerationalCacheManager implements DelegatingCacheManager {
+
+    private final CacheManager delegate;
+    private final CacheGenerations generations;
+    private final ConcurrentMap<String, GenerationalCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     * @param delegate Redis 缓存管理器
+     * @param generations 缓存代数
+     */
+    public GenerationalCacheManager(CacheManager delegate, CacheGenerations generations) {
+        this.delegate = delegate;
+        this.generations = generations;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        GenerationalCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new GenerationalCache(target, generations));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    @Override
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,181 @@
+package dev.tagtag.framework.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带指标的缓存：记录命中/未命中、写入、驱逐次数与回源耗时（Micrometer）
+ * sync 加载直接对 valueLoader 计时；非 sync 的 @Cacheable 按“同线程未命中 → 写入同一键”的间隔计时，
+ * 未写入的未命中记录由 {@link dev.tagtag.framework.aop.CacheLoadTimingAspect} 在方法调用结束时清除
+ */
+public class MeteredCache implements Cache {
+
+    private static final int MAX_PENDING = 32;
+
+    /** 非 sync 加载的未命中起始时间（缓存名 + 键 → nanoTime） */
+    private static final ThreadLocal<Map<String, Long>> PENDING_LOADS = new ThreadLocal<>();
+
+    private final Cache delegate;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Counter clears;
+    private final Timer loadTimer;
+
+    MeteredCache(Cache delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        String name = delegate.getName();
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit")
+                .description("Number of cache hits").register(registry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss")
+                .description("Number of cache misses").register(registry);
+        this.puts = Counter.builder("cache.puts").tag("cache", name)
+                .description("Number of cache puts").register(registry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name)
+                .description("Number of per-key cache evictions").register(registry);
+        this.clears = Counter.builder("cache.clears").tag("cache", name)
+                .description("Number of full cache clears").register(registry);
+        this.loadTimer = Timer.builder("cache.load.duration").tag("cache", name)
+                .description("Time spent loading values on cache miss")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            Map<String, Long> pending = PENDING_LOADS.get();
+            if (pending == null) {
+                pending = new HashMap<>();
+                PENDING_LOADS.set(pending);
+            } else if (pending.size() >= MAX_PENDING) {
+                pending.clear();
+            }
+            pending.put(pendingKey(key), System.nanoTime());
+        }
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            long start = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+        (loaded[0] ? misses : hits).increment();
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Map<String, Long> pending = PENDING_LOADS.get();
+        Long start = pending == null ? null : pending.remove(pendingKey(key));
+        if (start != null) {
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        delegate.put(key, value);
+        puts.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        evictions.increment();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = delegate.evictIfPresent(key);
+        if (present) {
+            evictions.increment();
+        }
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        clears.increment();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = delegate.invalidate();
+        clears.increment();
+        return notEmpty;
+    }
+
+    /**
+     * 当前线程尚未结束的未命中计时（为空时返回空，不分配对象）
+     * @return 未命中键快照
+     */
+    public static Set<String> pendingLoads() {
+        Map<String, Long> pending = PENDING_LOADS.get();
+        return pending == null || pending.isEmpty() ? null : Set.copyOf(pending.keySet());
+    }
+
+    /**
+     * 清理当前线程的未命中计时：未命中后方法返回空或抛出异常时不会写入，对应记录须在调用结束时清除
+     * @param retained 调用开始前已存在的记录（外层调用的未命中），为空时清除全部
+     */
+    public static void clearPendingLoads(Set<String> retained) {
+        Map<String, Long> pending = PENDING_LOADS.get();
+        if (pending == null) {
+            return;
+        }
+        if (retained == null) {
+            PENDING_LOADS.remove();
+        } else {
+            pending.keySet().retainAll(retained);
+        }
+    }
+
+    private String pendingKey(Object key) {
+        return getName() + '\u0000' + TwoLevelCache.toLocalKey(key);
+    }
+}
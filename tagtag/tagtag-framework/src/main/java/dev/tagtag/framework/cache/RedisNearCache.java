@@ -0,0 +1,232 @@
+package dev.tagtag.framework.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.net.SocketAddress;
+import java.util.List;
+
+/**
+ * Redis 服务端辅助的客户端缓存（RESP3 CLIENT TRACKING，BCAST 模式）
+ * 使用独立连接按键前缀开启广播式追踪，Redis 在这些前缀下的键被修改时推送 invalidate 消息，本地近端缓存随即丢弃对应条目；
+ * 读取仍经由 StringRedisTemplate，只有登记前缀下的键进入近端缓存。
+ * 追踪连接断开期间直接读 Redis，重连后清空本地条目并重新开启追踪。
+ */
+@Slf4j
+public class RedisNearCache implements SmartLifecycle {
+
+    private static final String INVALIDATE = "invalidate";
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final List<String> prefixes;
+    private final Cache<String, Slot> local;
+    private volatile StatefulRedisConnection<String, String> connection;
+    private volatile boolean tracking;
+    private volatile boolean running;
+
+    /**
+     * 构造函数
+     * @param connectionFactory Redis 连接工厂（需为 Lettuce 单机/主从模式）
+     * @param stringRedisTemplate 键值读取
+     * @param prefixes 开启近端缓存的键前缀（为空时仅透传读取）
+     * @param maxSize 近端缓存最大条目数
+     */
+    public RedisNearCache(RedisConnectionFactory connectionFactory, StringRedisTemplate stringRedisTemplate,
+                          List<String> prefixes, long maxSize) {
+        this.connectionFactory = connectionFactory;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.prefixes = prefixes == null ? List.of() : List.copyOf(prefixes);
+        this.local = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /**
+     * 读取字符串值：登记前缀下的键优先命中近端缓存（含不存在的键），其余键直接读 Redis
+     * @param key 键
+     * @return 值，不存在时为空
+     */
+    public String get(String key) {
+        if (!tracking || !isTracked(key)) {
+            return stringRedisTemplate.opsForValue().get(key);
+        }
+        Slot cached = local.getIfPresent(key);
+        if (cached != null && cached.loaded()) {
+            return cached.value();
+        }
+        // 先占位再读 Redis：读取期间到达的失效消息会移除占位，此时不回填，避免缓存旧值
+        Slot pending = new Slot(null, false);
+        boolean owner = cached == null && local.asMap().putIfAbsent(key, pending) == null;
+        String value = stringRedisTemplate.opsForValue().get(key);
+        if (owner) {
+            local.asMap().replace(key, pending, new Slot(value, true));
+        }
+        return value;
+    }
+
+    /**
+     * 键是否落在已登记的前缀下
+     * @param key 键
+     * @return 是否开启近端缓存
+     */
+    public boolean isTracked(String key) {
+        if (key == null) {
+            return false;
+        }
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 近端缓存中是否已有该键（含缓存的不存在结果）
+     */
+    boolean isCached(String key) {
+        Slot slot = local.getIfPresent(key);
+        return slot != null && slot.loaded();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (prefixes.isEmpty()) {
+            return;
+        }
+        if (!(connectionFactory instanceof LettuceConnectionFactory lettuce)
+                || !(lettuce.getNativeClient() instanceof RedisClient client)) {
+            log.warn("Redis near cache requires a standalone Lettuce client, near cache disabled");
+            return;
+        }
+        try {
+            StatefulRedisConnection<String, String> conn = client.connect(StringCodec.UTF8);
+            conn.addListener(this::onPush);
+            client.addListener(new ReconnectListener(conn));
+            connection = conn;
+            enableTracking(conn);
+        } catch (Exception e) {
+            log.warn("Failed to enable Redis client tracking, near cache disabled: prefixes={}", prefixes, e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        tracking = false;
+        local.invalidateAll();
+        StatefulRedisConnection<String, String> conn = connection;
+        connection = null;
+        if (conn != null) {
+            conn.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void enableTracking(StatefulRedisConnection<String, String> conn) {
+        conn.sync().clientTracking(TrackingArgs.Builder.enabled().bcast().prefixes(prefixes.toArray(new String[0])));
+        local.invalidateAll();
+        tracking = true;
+        log.info("Redis client tracking enabled: prefixes={}", prefixes);
+    }
+
+    /**
+     * 处理 invalidate 推送：键列表为空表示 FLUSHALL/FLUSHDB，清空全部本地条目
+     */
+    @SuppressWarnings("unchecked")
+    private void onPush(PushMessage message) {
+        if (!INVALIDATE.equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (keys instanceof List<?> list) {
+            local.invalidateAll((List<String>) list);
+        } else {
+            local.invalidateAll();
+        }
+    }
+
+    /**
+     * 追踪连接断开时停用近端缓存，重连后重新开启追踪（追踪状态随连接丢失）
+     */
+    private final class ReconnectListener implements RedisConnectionStateListener {
+
+        private final StatefulRedisConnection<String, String> conn;
+
+        private ReconnectListener(StatefulRedisConnection<String, String> conn) {
+            this.conn = conn;
+        }
+
+        @Override
+        public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+            if (handler == conn) {
+                tracking = false;
+                local.invalidateAll();
+                log.warn("Redis client tracking connection lost, near cache bypassed until reconnect");
+            }
+        }
+
+        @Override
+        public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress socketAddress) {
+            if (handler != conn || !running || tracking) {
+                return;
+            }
+            // 回调位于 I/O 线程，不能同步等待命令结果
+            conn.async().clientTracking(TrackingArgs.Builder.enabled().bcast().prefixes(prefixes.toArray(new String[0])))
+                    .whenComplete((ok, e) -> {
+                        if (e != null) {
+                            log.warn("Failed to re-enable Redis client tracking", e);
+                            return;
+                        }
+                        local.invalidateAll();
+                        tracking = true;
+                        log.info("Redis client tracking re-enabled: prefixes={}", prefixes);
+                    });
+        }
+    }
+
+    /**
+     * 近端缓存槽位：按实例比较（不覆写 equals），占位只能被创建它的读取替换，
+     * 失效后由其他读取新建的占位不会被旧读取的结果顶替
+     */
+    private static final class Slot {
+
+        private final String value;
+        private final boolean loaded;
+
+        /**
+         * 构造函数
+         * @param value 值（键不存在时为空）
+         * @param loaded 是否已加载（false 为读取中的占位）
+         */
+        private Slot(String value, boolean loaded) {
+            this.value = value;
+            this.loaded = loaded;
+        }
+
+        String value() {
+            return value;
+        }
+
+        boolean loaded() {
+            return loaded;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package dev.tagtag.framework.cache;
+
+import dev.tagtag.kernel.constant.CacheConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 防击穿缓存：对 get(key, valueLoader)（即 @Cacheable(sync = true)）做单飞加载
+ * 1. 进程内按键合并：同一键并发未命中时只有一个线程执行加载，其余线程等待其结果；
+ * 2. 可选 Redis 租约：SET NX PX 抢占短租约，跨节点只有一个节点回源，其余节点轮询等待结果；
+ * 3. 概率提前刷新（XFetch）：命中时按 加载耗时 × beta × -ln(rand) 估算是否提前重算，热点键在过期前被单线程刷新。
+ * 其余读写操作直接委托给底层缓存。
+ */
+@Slf4j
+public class SingleFlightCache implements Cache {
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 50L;
+
+    private final Cache delegate;
+    private final Duration ttl;
+    private final Options options;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final com.github.benmanes.caffeine.cache.Cache<String, LoadStats> stats;
+
+    /**
+     * 构造函数
+     * @param delegate 被包装的缓存
+     * @param ttl 缓存条目 TTL（用于估算过期时间，非正数时不做提前刷新）
+     * @param options 单飞配置
+     * @param stringRedisTemplate 租约读写（未启用租约时可为空）
+     */
+    public SingleFlightCache(Cache delegate, Duration ttl, Options options, StringRedisTemplate stringRedisTemplate) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.options = options;
+        this.stringRedisTemplate = stringRedisTemplate;
+        com.github.benmanes.caffeine.cache.Caffeine<Object, Object> builder = com.github.benmanes.caffeine.cache.Caffeine.newBuilder()
+                .maximumSize(options.statsMaxSize());
+        if (isPositive(ttl)) {
+            builder.expireAfterWrite(ttl);
+        }
+        this.stats = builder.build();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String flightKey = TwoLevelCache.toLocalKey(key);
+        ValueWrapper hit = delegate.get(key);
+        if (hit != null && hit.get() != null) {
+            if (!shouldRefreshEarly(flightKey) || inFlight.containsKey(flightKey)) {
+                return (T) hit.get();
+            }
+            try {
+                return (T) flight(key, flightKey, valueLoader, hit.get());
+            } catch (ValueRetrievalException e) {
+                log.warn("Early refresh failed, serving cached value: cache={}, key={}", getName(), flightKey, e.getCause());
+                return (T) hit.get();
+            }
+        }
+        return (T) flight(key, flightKey, valueLoader, null);
+    }
+
+    /**
+     * 按键单飞：首个线程成为加载者，其余线程等待同一个结果
+     */
+    private Object flight(Object key, String flightKey, Callable<?> valueLoader, Object stale) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(flightKey, mine);
+        if (running != null) {
+            return stale != null ? stale : await(running, key, valueLoader);
+        }
+        try {
+            Object value = stale == null ? present(key) : null;
+            if (value == null) {
+                value = loadWithLease(key, flightKey, valueLoader, stale);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    /**
+     * 加载者持有（或无需）Redis 租约时回源；未抢到租约时等待其他节点写入结果，超时后自行回源
+     */
+    private Object loadWithLease(Object key, String flightKey, Callable<?> valueLoader, Object stale) {
+        if (!options.leaseEnabled() || stringRedisTemplate == null) {
+            return load(key, flightKey, valueLoader);
+        }
+        String leaseKey = CacheConstants.keyCacheLease(getName(), flightKey);
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = tryAcquire(leaseKey, token);
+        if (acquired == null || acquired) {
+            try {
+                return load(key, flightKey, valueLoader);
+            } finally {
+                if (acquired != null) {
+                    release(leaseKey, token);
+                }
+            }
+        }
+        if (stale != null) {
+            return stale;
+        }
+        long deadline = System.nanoTime() + options.leaseWait().toNanos();
+        while (System.nanoTime() < deadline) {
+            sleepQuietly();
+            Object value = present(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        log.debug("Lease wait timed out, loading locally: cache={}, key={}", getName(), flightKey);
+        return load(key, flightKey, valueLoader);
+    }
+
+    private Object load(Object key, String flightKey, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        long deltaMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (value != null) {
+            delegate.put(key, value);
+            if (isPositive(ttl)) {
+                stats.put(flightKey, new LoadStats(System.currentTimeMillis() + ttl.toMillis(), Math.max(1L, deltaMillis)));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * XFetch：now - delta × beta × ln(rand) ≥ expiry 时提前刷新（ln(rand) ≤ 0，越接近过期概率越大）
+     */
+    private boolean shouldRefreshEarly(String flightKey) {
+        if (options.earlyRefreshBeta() <= 0) {
+            return false;
+        }
+        LoadStats s = stats.getIfPresent(flightKey);
+        if (s == null) {
+            return false;
+        }
+        double rand = ThreadLocalRandom.current().nextDouble();
+        if (rand <= 0) {
+            return false;
+        }
+        double gap = s.deltaMillis() * options.earlyRefreshBeta() * Math.log(rand);
+        return System.currentTimeMillis() - gap >= s.expiresAt();
+    }
+
+    private Object await(CompletableFuture<Object> running, Object key, Callable<?> valueLoader) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new ValueRetrievalException(key, valueLoader, cause);
+        }
+    }
+
+    private Object present(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        return wrapper == null ? null : wrapper.get();
+    }
+
+    private Boolean tryAcquire(String leaseKey, String token) {
+        try {
+            return stringRedisTemplate.opsForValue().setIfAbsent(leaseKey, token, options.leaseTtl());
+        } catch (Exception e) {
+            log.warn("Failed to acquire cache lease, loading without lease: key={}", leaseKey, e);
+            return null;
+        }
+    }
+
+    private void release(String leaseKey, String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token);
+        } catch (Exception e) {
+            log.warn("Failed to release cache lease: key={}", leaseKey, e);
+        }
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        stats.invalidate(TwoLevelCache.toLocalKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        stats.invalidate(TwoLevelCache.toLocalKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        stats.invalidate(TwoLevelCache.toLocalKey(key));
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        stats.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        stats.invalidateAll();
+        return delegate.invalidate();
+    }
+
+    private static boolean isPositive(Duration d) {
+        return d != null && !d.isNegative() && !d.isZero();
+    }
+
+    /**
+     * 单次加载统计：预计过期时间与加载耗时
+     */
+    private record LoadStats(long expiresAt, long deltaMillis) {}
+
+    /**
+     * 单飞配置
+     * @param leaseEnabled 是否启用跨节点 Redis 租约
+     * @param leaseTtl 租约时长（应覆盖一次加载耗时）
+     * @param leaseWait 未抢到租约时等待结果的最长时间
+     * @param earlyRefreshBeta 提前刷新系数（≤0 关闭，1.0 为 XFetch 推荐值）
+     * @param statsMaxSize 加载统计的最大键数
+     */
+    public record Options(boolean leaseEnabled, Duration leaseTtl, Duration leaseWait, double earlyRefreshBeta, long statsMaxSize) {}
+}
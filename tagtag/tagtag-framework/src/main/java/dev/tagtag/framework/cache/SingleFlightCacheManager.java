@@ -0,0 +1,63 @@
+package dev.tagtag.framework.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 单飞缓存管理器：作为最外层包装，为每个缓存挂载 {@link SingleFlightCache}
+ */
+public class SingleFlightCacheManager implements DelegatingCacheManager {
+
+    private final CacheManager delegate;
+    private final Function<String, Duration> ttlResolver;
+    private final SingleFlightCache.Options options;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ConcurrentMap<String, SingleFlightCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     * @param delegate 被包装的缓存管理器
+     * @param ttlResolver 按缓存名解析条目 TTL
+     * @param options 单飞配置
+     * @param stringRedisTemplate 租约读写
+     */
+    public SingleFlightCacheManager(CacheManager delegate,
+                                    Function<String, Duration> ttlResolver,
+                                    SingleFlightCache.Options options,
+                                    StringRedisTemplate stringRedisTemplate) {
+        this.delegate = delegate;
+        this.ttlResolver = ttlResolver;
+        this.options = options;
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        SingleFlightCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new SingleFlightCache(target, ttlResolver.apply(n), options, stringRedisTemplate));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    @Override
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,165 @@
+package dev.tagtag.framework.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+/**
+ * 二级缓存：本地 Caffeine（L1）+ Redis（L2）
+ * 读取优先命中 L1，未命中时回源 L2 并回填 L1；驱逐/清空时同步 L2 并广播给其他节点清理 L1
+ * 写入只更新 L2 与本节点 L1，不广播：缓存值只在未命中后从数据源加载写入，数据变更一律经驱逐/清空传播
+ * （见 {@link CacheInvalidator}），其他节点的 L1 要么没有该键、要么已随驱逐广播清理，广播写入只会让各节点丢弃刚加载的值
+ * L1 返回的是共享实例，调用方不得修改缓存值（需脱敏等修改时先复制）
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final TwoLevelCacheManager owner;
+
+    TwoLevelCache(String name, Cache remote, com.github.benmanes.caffeine.cache.Cache<Object, Object> local, TwoLevelCacheManager owner) {
+        this.name = name;
+        this.remote = remote;
+        this.local = local;
+        this.owner = owner;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = toLocalKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(localKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = toLocalKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return (T) value;
+        }
+        T loaded = remote.get(key, valueLoader);
+        if (loaded != null) {
+            local.put(localKey, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        String localKey = toLocalKey(key);
+        if (value != null) {
+            local.put(localKey, value);
+        } else {
+            local.invalidate(localKey);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.invalidate(toLocalKey(key));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String localKey = toLocalKey(key);
+        local.invalidate(localKey);
+        owner.publishEvict(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        String localKey = toLocalKey(key);
+        local.invalidate(localKey);
+        owner.publishEvict(name, localKey);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        owner.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = remote.invalidate();
+        local.invalidateAll();
+        owner.publishClear(name);
+        return notEmpty;
+    }
+
+    /**
+     * 仅清理本节点 L1 中的指定键（由失效广播触发）
+     * @param localKey 本地缓存键
+     */
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    /**
+     * 仅清空本节点 L1（由失效广播触发）
+     */
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    /**
+     * 获取本地缓存实例
+     * @return Caffeine 缓存
+     */
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getLocalCache() {
+        return local;
+    }
+
+    /**
+     * 将缓存键规范化为字符串，保证跨节点广播时键一致（集合键按逗号拼接，与 Redis 键格式一致）
+     * @param key 原始缓存键
+     * @return 本地缓存键
+     */
+    static String toLocalKey(Object key) {
+        if (key instanceof Collection<?> c) {
+            return StringUtils.collectionToCommaDelimitedString(c);
+        }
+        return String.valueOf(key);
+    }
+}
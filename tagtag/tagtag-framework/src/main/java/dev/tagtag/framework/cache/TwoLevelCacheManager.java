@@ -0,0 +1,164 @@
+package dev.tagtag.framework.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tagtag.kernel.constant.CacheConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 二级缓存管理器：包装 Redis 缓存管理器，为每个缓存挂载有界本地缓存
+ * 驱逐/清空通过 Redis Pub/Sub 广播，其他节点收到后仅清理各自 L1；
+ * 缓存版本号总在 L1 清理之后递增，读到新版本的请求不会再从 L1 取到旧值
+ */
+@Slf4j
+public class TwoLevelCacheManager implements DelegatingCacheManager, MessageListener {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheManager remoteCacheManager;
+    private final Function<String, com.github.benmanes.caffeine.cache.Cache<Object, Object>> localCacheFactory;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final CacheVersions cacheVersions;
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     * @param remoteCacheManager 二级（Redis）缓存管理器
+     * @param localCacheFactory 按缓存名创建本地缓存的工厂
+     * @param stringRedisTemplate 用于发布失效消息
+     * @param objectMapper 失效消息序列化
+     * @param cacheVersions 本节点缓存版本号（本地变更与收到失效广播时递增）
+     */
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                Function<String, com.github.benmanes.caffeine.cache.Cache<Object, Object>> localCacheFactory,
+                                StringRedisTemplate stringRedisTemplate,
+                                ObjectMapper objectMapper,
+                                CacheVersions cacheVersions) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localCacheFactory = localCacheFactory;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.cacheVersions = cacheVersions;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new TwoLevelCache(n, remote, localCacheFactory.apply(n), this));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(remoteCacheManager.getCacheNames());
+        names.addAll(caches.keySet());
+        return names;
+    }
+
+    @Override
+    public CacheManager getDelegate() {
+        return remoteCacheManager;
+    }
+
+    /**
+     * 获取指定缓存的本地 L1（缓存尚未创建时返回空）
+     * @param cacheName 缓存名
+     * @return Caffeine 缓存
+     */
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getLocalCache(String cacheName) {
+        TwoLevelCache cache = caches.get(cacheName);
+        return cache == null ? null : cache.getLocalCache();
+    }
+
+    /**
+     * 广播单键失效
+     * @param cacheName 缓存名
+     * @param localKey 本地缓存键
+     */
+    void publishEvict(String cacheName, String localKey) {
+        cacheVersions.bump(cacheName);
+        publish(new InvalidationMessage(nodeId, cacheName, localKey));
+    }
+
+    /**
+     * 广播整个缓存清空
+     * @param cacheName 缓存名
+     */
+    void publishClear(String cacheName) {
+        cacheVersions.bump(cacheName);
+        publish(new InvalidationMessage(nodeId, cacheName, null));
+    }
+
+    private void publish(InvalidationMessage msg) {
+        try {
+            stringRedisTemplate.convertAndSend(CacheConstants.CACHE_INVALIDATION_CHANNEL, objectMapper.writeValueAsString(msg));
+        } catch (Exception e) {
+            log.warn("Failed to publish cache invalidation: cache={}, key={}", msg.cache(), msg.key(), e);
+        }
+    }
+
+    /**
+     * 接收其他节点的失效广播，仅清理本节点 L1
+     * @param message 消息
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            InvalidationMessage msg = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), InvalidationMessage.class);
+            if (msg == null || nodeId.equals(msg.node()) || msg.cache() == null) {
+                return;
+            }
+            if (msg.key() == null) {
+                clearLocal(msg.cache());
+                return;
+            }
+            TwoLevelCache cache = caches.get(msg.cache());
+            if (cache != null) {
+                cache.evictLocal(msg.key());
+            }
+            cacheVersions.bump(msg.cache());
+        } catch (Exception e) {
+            log.warn("Failed to handle cache invalidation message", e);
+        }
+    }
+
+    /**
+     * 仅清空本节点指定缓存的 L1（如远端缓存代数变更时）
+     * @param cacheName 缓存名
+     */
+    public void clearLocal(String cacheName) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+        cacheVersions.bump(cacheName);
+    }
+
+    /**
+     * 失效广播消息体
+     * @param node 发送节点
+     * @param cache 缓存名
+     * @param key 缓存键（为空表示清空整个缓存）
+     */
+    record InvalidationMessage(String node, String cache, String key) {}
+}
@@ -0,0 +1,189 @@
+package dev.tagtag.framework.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 带格式版本字节的 Redis 值序列化器
+ * SMILE 格式：首字节为版本号，其后为 Smile 二进制（开启共享字符串，重复的类型名/属性名只写一次）；
+ * JSON 格式：与 GenericJackson2JsonRedisSerializer 完全一致，无版本字节。
+ * 读取时按首字节自动识别，滚动发布期间新旧两种格式的条目均可读取。
+ * 启用压缩时，编码结果不小于阈值的值以 LZ4 压缩存储：首字节 LZ4_V1，随后 4 字节原始长度，再后为压缩块；
+ * 压缩后不变小则按原样存储，小值始终不压缩。
+ */
+public class VersionedRedisSerializer implements RedisSerializer<Object> {
+
+    public static final byte SMILE_V1 = 0x01;
+    public static final byte LZ4_V1 = 0x02;
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int LZ4_HEADER = 5;
+    /** 解压后长度上限，防止异常长度字段导致超大内存分配 */
+    private static final int MAX_DECOMPRESSED = 64 * 1024 * 1024;
+
+    private final Format format;
+    private final ObjectMapper smileMapper;
+    private final GenericJackson2JsonRedisSerializer jsonSerializer;
+    private final int compressThreshold;
+    private final LZ4Compressor compressor;
+    private final LZ4SafeDecompressor decompressor;
+    private final DistributionSummary compressionRatio;
+    private final Counter rawBytes;
+    private final Counter storedBytes;
+
+    /**
+     * 构造函数（不压缩）
+     * @param redisObjectMapper 启用默认类型信息的 Redis ObjectMapper
+     * @param format 写入格式
+     */
+    public VersionedRedisSerializer(ObjectMapper redisObjectMapper, Format format) {
+        this(redisObjectMapper, format, -1, null);
+    }
+
+    /**
+     * 构造函数
+     * @param redisObjectMapper 启用默认类型信息的 Redis ObjectMapper
+     * @param format 写入格式
+     * @param compressThreshold 压缩阈值（字节，编码后不小于该值时压缩；≤0 表示不压缩）
+     * @param registry 指标注册表（可为空），用于上报压缩比
+     */
+    public VersionedRedisSerializer(ObjectMapper redisObjectMapper, Format format, int compressThreshold, MeterRegistry registry) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        this.format = format == null ? Format.JSON : format;
+        this.smileMapper = redisObjectMapper.copyWith(smileFactory);
+        this.jsonSerializer = new GenericJackson2JsonRedisSerializer(redisObjectMapper);
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        this.compressThreshold = compressThreshold;
+        this.compressor = lz4.fastCompressor();
+        this.decompressor = lz4.safeDecompressor();
+        if (registry != null && compressThreshold > 0) {
+            this.compressionRatio = DistributionSummary.builder("cache.serializer.compression.ratio")
+                    .description("Original size divided by compressed size for compressed cache values")
+                    .register(registry);
+            this.rawBytes = Counter.builder("cache.serializer.compression.bytes").tag("stage", "raw")
+                    .description("Encoded bytes of compressed cache values before compression")
+                    .baseUnit("bytes").register(registry);
+            this.storedBytes = Counter.builder("cache.serializer.compression.bytes").tag("stage", "stored")
+                    .description("Bytes of compressed cache values written to Redis")
+                    .baseUnit("bytes").register(registry);
+        } else {
+            this.compressionRatio = null;
+            this.rawBytes = null;
+            this.storedBytes = null;
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        byte[] encoded = encode(value);
+        if (compressThreshold <= 0 || encoded.length < compressThreshold) {
+            return encoded;
+        }
+        return compress(encoded);
+    }
+
+    private byte[] encode(Object value) {
+        if (format == Format.JSON) {
+            return jsonSerializer.serialize(value);
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            out.write(SMILE_V1);
+            smileMapper.writeValue(out, value);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * LZ4 压缩已编码的值；压缩后不变小时返回原值
+     */
+    private byte[] compress(byte[] encoded) {
+        int maxLength = compressor.maxCompressedLength(encoded.length);
+        byte[] out = new byte[LZ4_HEADER + maxLength];
+        out[0] = LZ4_V1;
+        out[1] = (byte) (encoded.length >>> 24);
+        out[2] = (byte) (encoded.length >>> 16);
+        out[3] = (byte) (encoded.length >>> 8);
+        out[4] = (byte) encoded.length;
+        int compressed = compressor.compress(encoded, 0, encoded.length, out, LZ4_HEADER, maxLength);
+        int stored = LZ4_HEADER + compressed;
+        if (stored >= encoded.length) {
+            return encoded;
+        }
+        if (compressionRatio != null) {
+            compressionRatio.record((double) encoded.length / stored);
+            rawBytes.increment(encoded.length);
+            storedBytes.increment(stored);
+        }
+        return Arrays.copyOf(out, stored);
+    }
+
+    private byte[] decompress(byte[] bytes) {
+        if (bytes.length < LZ4_HEADER) {
+            throw new SerializationException("Could not read LZ4: truncated header");
+        }
+        int length = ((bytes[1] & 0xFF) << 24) | ((bytes[2] & 0xFF) << 16) | ((bytes[3] & 0xFF) << 8) | (bytes[4] & 0xFF);
+        if (length <= 0 || length > MAX_DECOMPRESSED) {
+            throw new SerializationException("Could not read LZ4: invalid length " + length);
+        }
+        byte[] out = new byte[length];
+        try {
+            int n = decompressor.decompress(bytes, LZ4_HEADER, bytes.length - LZ4_HEADER, out, 0, length);
+            if (n != length) {
+                throw new SerializationException("Could not read LZ4: expected " + length + " bytes but got " + n);
+            }
+        } catch (LZ4Exception e) {
+            throw new SerializationException("Could not read LZ4: " + e.getMessage(), e);
+        }
+        return out;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == LZ4_V1) {
+            bytes = decompress(bytes);
+        }
+        if (bytes[0] != SMILE_V1) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        try {
+            return smileMapper.readValue(bytes, 1, bytes.length - 1, Object.class);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read Smile: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 写入格式
+     */
+    public enum Format {
+        JSON,
+        SMILE
+    }
+}
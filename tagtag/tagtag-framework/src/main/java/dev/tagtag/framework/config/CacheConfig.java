@@ -1,8 +1,23 @@
 package dev.tagtag.framework.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.tagtag.framework.cache.CacheGenerations;
+import dev.tagtag.framework.cache.CacheInspector;
+import dev.tagtag.framework.cache.CacheVersions;
+import dev.tagtag.framework.cache.GenerationalCacheManager;
+import dev.tagtag.framework.cache.MeteredCacheManager;
+import dev.tagtag.framework.cache.RedisNearCache;
+import dev.tagtag.framework.cache.SingleFlightCache;
+import dev.tagtag.framework.cache.SingleFlightCacheManager;
+import dev.tagtag.framework.cache.TwoLevelCacheManager;
+import dev.tagtag.framework.cache.VersionedRedisSerializer;
+import dev.tagtag.framework.web.body.ResponseBodyCache;
+import dev.tagtag.framework.web.body.SerializedBodyHttpMessageConverter;
 import dev.tagtag.kernel.constant.CacheConstants;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Data;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cache.CacheManager;
@@ -12,12 +27,18 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
@@ -28,31 +49,258 @@ public class CacheConfig {
 
     private Map<String, Duration> ttl = new HashMap<>();
     private Duration defaultTtl = CacheConstants.DEFAULT_TTL;
+    private Local local = new Local();
+    private Generation generation = new Generation();
+    private SingleFlight singleFlight = new SingleFlight();
+    private Metrics metrics = new Metrics();
+    private VersionedRedisSerializer.Format serializer = VersionedRedisSerializer.Format.JSON;
+    private Compression compression = new Compression();
+    private ResponseBody responseBody = new ResponseBody();
+    private Near near = new Near();
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, @Qualifier("redisObjectMapper") ObjectMapper redisObjectMapper) {
+    public RedisSerializer<Object> redisValueSerializer(@Qualifier("redisObjectMapper") ObjectMapper redisObjectMapper,
+                                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        int threshold = compression != null && compression.isEnabled() && compression.getThreshold() != null
+                ? (int) compression.getThreshold().toBytes()
+                : -1;
+        return new VersionedRedisSerializer(redisObjectMapper, serializer, threshold, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public RedisNearCache redisNearCache(RedisConnectionFactory redisConnectionFactory, StringRedisTemplate stringRedisTemplate) {
+        List<String> prefixes = near.isEnabled() ? near.getPrefixes() : List.of();
+        return new RedisNearCache(redisConnectionFactory, stringRedisTemplate, prefixes, near.getMaxSize());
+    }
+
+    @Bean
+    public CacheVersions cacheVersions() {
+        return new CacheVersions();
+    }
+
+    @Bean
+    public ResponseBodyCache responseBodyCache(ObjectMapper objectMapper, CacheVersions cacheVersions) {
+        int gzipThreshold = responseBody.getGzipThreshold() == null ? -1 : (int) responseBody.getGzipThreshold().toBytes();
+        // 版本号依赖 L1 的失效广播，未开启 L1 时无法感知其他节点的变更，只输出 ETag 不复用字节
+        boolean enabled = responseBody.isEnabled() && local != null && local.isEnabled();
+        return new ResponseBodyCache(objectMapper, cacheVersions, enabled, responseBody.getMaxEntries(), gzipThreshold,
+                this::resolveLocalTtl);
+    }
+
+    @Bean
+    public SerializedBodyHttpMessageConverter serializedBodyHttpMessageConverter() {
+        return new SerializedBodyHttpMessageConverter();
+    }
+
+    @Bean
+    public CacheGenerations cacheGenerations(StringRedisTemplate stringRedisTemplate,
+                                             ObjectMapper objectMapper,
+                                             RedisMessageListenerContainer redisMessageListenerContainer) {
+        CacheGenerations generations = new CacheGenerations(stringRedisTemplate, objectMapper, generation.getSyncInterval());
+        redisMessageListenerContainer.addMessageListener(generations, new ChannelTopic(CacheConstants.CACHE_GENERATION_CHANNEL));
+        return generations;
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     RedisSerializer<Object> redisValueSerializer,
+                                     ObjectMapper objectMapper,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     RedisMessageListenerContainer redisMessageListenerContainer,
+                                     CacheGenerations cacheGenerations,
+                                     CacheVersions cacheVersions,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        boolean generational = generation != null && generation.isEnabled();
         StringRedisSerializer keySerializer = new StringRedisSerializer();
-        GenericJackson2JsonRedisSerializer valueSerializer = new GenericJackson2JsonRedisSerializer(redisObjectMapper);
 
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(keySerializer))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(redisValueSerializer))
                 .disableCachingNullValues()
                 .entryTtl(defaultTtl)
-                .computePrefixWith(cacheName -> CacheConstants.PREFIX + ":" + cacheName + ":");
+                .computePrefixWith(generational
+                        ? cacheGenerations::prefix
+                        : cacheName -> CacheConstants.PREFIX + ":" + cacheName + ":");
 
         Map<String, RedisCacheConfiguration> initialConfigs = new HashMap<>();
         if (ttl != null) {
             ttl.forEach((name, d) -> {
-                if (name != null && !name.isBlank() && d != null && !d.isNegative() && !d.isZero()) {
+                if (isValidName(name) && isPositive(d)) {
                     initialConfigs.put(name, defaultConfig.entryTtl(d));
                 }
             });
         }
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(initialConfigs)
                 .build();
+        boolean localEnabled = local != null && local.isEnabled();
+        boolean singleFlightEnabled = singleFlight != null && singleFlight.isEnabled();
+        MeterRegistry registry = metrics != null && metrics.isEnabled() ? meterRegistry.getIfAvailable() : null;
+        if (!generational && !localEnabled && !singleFlightEnabled && registry == null) {
+            return redisCacheManager;
+        }
+
+        redisCacheManager.afterPropertiesSet();
+        CacheManager cacheManager = generational
+                ? new GenerationalCacheManager(redisCacheManager, cacheGenerations)
+                : redisCacheManager;
+        if (localEnabled) {
+            TwoLevelCacheManager twoLevelCacheManager = new TwoLevelCacheManager(cacheManager, this::buildLocalCache, stringRedisTemplate, objectMapper, cacheVersions);
+            redisMessageListenerContainer.addMessageListener(twoLevelCacheManager, new ChannelTopic(CacheConstants.CACHE_INVALIDATION_CHANNEL));
+            cacheGenerations.addListener(twoLevelCacheManager::clearLocal);
+            cacheManager = twoLevelCacheManager;
+        }
+        if (singleFlightEnabled) {
+            cacheManager = new SingleFlightCacheManager(cacheManager, this::resolveRemoteTtl, singleFlight.toOptions(), stringRedisTemplate);
+        }
+        if (registry != null) {
+            cacheManager = new MeteredCacheManager(cacheManager, registry);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public CacheInspector cacheInspector(CacheManager cacheManager,
+                                         StringRedisTemplate stringRedisTemplate,
+                                         RedisSerializer<Object> redisValueSerializer) {
+        return new CacheInspector(cacheManager, stringRedisTemplate, redisValueSerializer,
+                metrics.getInspectScanLimit(), metrics.getInspectSampleSize());
+    }
+
+    /**
+     * 按缓存名构建本地缓存：容量优先取单缓存配置
+     * @param cacheName 缓存名
+     * @return Caffeine 缓存
+     */
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> buildLocalCache(String cacheName) {
+        Long maxSize = local.getMaxSize() == null ? null : local.getMaxSize().get(cacheName);
+        if (maxSize == null || maxSize <= 0) {
+            maxSize = local.getDefaultMaxSize();
+        }
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(resolveLocalTtl(cacheName))
+                .build();
+    }
+
+    /**
+     * 解析缓存的 L1 TTL：单缓存配置优先，否则取默认 TTL，且不超过对应 Redis TTL
+     * @param cacheName 缓存名
+     * @return TTL
+     */
+    private Duration resolveLocalTtl(String cacheName) {
+        Duration localTtl = local.getTtl() == null ? null : local.getTtl().get(cacheName);
+        if (!isPositive(localTtl)) {
+            localTtl = local.getDefaultTtl();
+        }
+        Duration remoteTtl = resolveRemoteTtl(cacheName);
+        if (isPositive(remoteTtl) && remoteTtl.compareTo(localTtl) < 0) {
+            localTtl = remoteTtl;
+        }
+        return localTtl;
+    }
+
+    /**
+     * 解析缓存的 Redis TTL：单缓存配置优先，否则取默认 TTL
+     * @param cacheName 缓存名
+     * @return TTL
+     */
+    private Duration resolveRemoteTtl(String cacheName) {
+        Duration remoteTtl = ttl == null ? null : ttl.get(cacheName);
+        return isPositive(remoteTtl) ? remoteTtl : defaultTtl;
+    }
+
+    private static boolean isValidName(String name) {
+        return name != null && !name.isBlank();
+    }
+
+    private static boolean isPositive(Duration d) {
+        return d != null && !d.isNegative() && !d.isZero();
+    }
+
+    /**
+     * 本地一级缓存配置（cache.local.*）
+     */
+    @Data
+    public static class Local {
+
+        private boolean enabled = true;
+        private Duration defaultTtl = Duration.ofSeconds(60);
+        private long defaultMaxSize = 1000;
+        private Map<String, Duration> ttl = new HashMap<>();
+        private Map<String, Long> maxSize = new HashMap<>();
+    }
+
+    /**
+     * 缓存代数配置（cache.generation.*）
+     */
+    @Data
+    public static class Generation {
+
+        private boolean enabled = true;
+        private Duration syncInterval = Duration.ofSeconds(30);
+    }
+
+    /**
+     * 防击穿单飞加载配置（cache.single-flight.*），作用于 @Cacheable(sync = true)
+     */
+    @Data
+    public static class SingleFlight {
+
+        private boolean enabled = true;
+        private boolean leaseEnabled = false;
+        private Duration leaseTtl = Duration.ofSeconds(5);
+        private Duration leaseWait = Duration.ofSeconds(3);
+        private double earlyRefreshBeta = 1.0;
+        private long statsMaxSize = 10000;
+
+        SingleFlightCache.Options toOptions() {
+            return new SingleFlightCache.Options(leaseEnabled, leaseTtl, leaseWait, earlyRefreshBeta, statsMaxSize);
+        }
+    }
+
+    /**
+     * 缓存指标与巡检配置（cache.metrics.*）
+     */
+    @Data
+    public static class Metrics {
+
+        private boolean enabled = true;
+        private int inspectScanLimit = 10000;
+        private int inspectSampleSize = 50;
+    }
+
+    /**
+     * 缓存值压缩配置（cache.compression.*）：编码后不小于阈值的值以 LZ4 压缩
+     */
+    @Data
+    public static class Compression {
+
+        private boolean enabled = false;
+        private DataSize threshold = DataSize.ofKilobytes(4);
+    }
+
+    /**
+     * 目录类接口预序列化响应体配置（cache.response-body.*）
+     */
+    @Data
+    public static class ResponseBody {
+
+        private boolean enabled = true;
+        private long maxEntries = 256;
+        private DataSize gzipThreshold = DataSize.ofKilobytes(1);
+    }
+
+    /**
+     * Redis 客户端缓存配置（cache.near.*）：按键前缀开启 RESP3 服务端辅助失效的近端缓存
+     */
+    @Data
+    public static class Near {
+
+        private boolean enabled = false;
+        private List<String> prefixes = new ArrayList<>();
+        private long maxSize = 100000;
     }
 }
@@ -4,11 +4,18 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import lombok.Data;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "jwt")
 @Data
 public class JwtProperties {
 
+    /** 签名算法：HS256 / RS256 / ES256 / EdDSA（Ed25519），为空时按是否配置 RSA 密钥推断 */
+    private String algorithm;
     private String secret = "tagtag-default-secret";
     private String privateKeyPem;
     private String publicKeyPem;
@@ -16,4 +23,29 @@ public class JwtProperties {
     private String audience;
     private long accessTtlSeconds = 3600;
     private long refreshTtlSeconds = 604800;
+
+    /** 多密钥（按 kid）：配置 keys 或 jwks-path 后启用密钥轮换，上面的单密钥配置不再生效；keys 仅在启动时读取 */
+    private List<Key> keys = new ArrayList<>();
+    /** 本地 JWKS 文件路径，文件变化后自动重新加载 */
+    private String jwksPath;
+    /** 签发新令牌使用的 kid，为空时取第一个带私钥（或对称密钥）的 kid */
+    private String activeKid;
+    /** JWKS 文件变化检查间隔 */
+    private Duration reloadInterval = Duration.ofSeconds(30);
+
+    /**
+     * 单个签名密钥（jwt.keys[*]）；只有公钥或设置了 not-after 的条目仅用于验签（已退役的密钥）
+     */
+    @Data
+    public static class Key {
+
+        private String kid;
+        /** HS256 / RS256 / ES256 / EdDSA，为空时有 secret 则 HS256，否则 RS256 */
+        private String algorithm;
+        private String secret;
+        private String privateKeyPem;
+        private String publicKeyPem;
+        /** 验签截止时间（ISO-8601），退役密钥设为其签发的最后一个令牌的过期时间，到期后移除 */
+        private Instant notAfter;
+    }
 }
@@ -1,5 +1,6 @@
 package dev.tagtag.framework.config;
 
+import dev.tagtag.framework.web.body.SerializedBody;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
@@ -8,6 +9,7 @@ import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,6 +18,11 @@ import java.util.List;
 @Configuration
 public class OpenApiConfig {
 
+    static {
+        // 预序列化响应体按其类型参数生成文档
+        SpringDocUtils.getConfig().addResponseWrapperToIgnore(SerializedBody.class);
+    }
+
     /**
      * API 基本信息配置
      */
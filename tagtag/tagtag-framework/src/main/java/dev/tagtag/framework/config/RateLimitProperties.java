@@ -0,0 +1,77 @@
+package dev.tagtag.framework.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private Local local = new Local();
+    private Fallback fallback = new Fallback();
+    private Rules rules = new Rules();
+    private HeavyHitter heavyHitter = new HeavyHitter();
+
+    /**
+     * 本地预检配置（rate-limit.local.*）：按键记录 Redis 拒绝后的可重试时间，到期前不再访问 Redis
+     */
+    @Data
+    public static class Local {
+
+        private boolean enabled = true;
+        private long maxKeys = 100000;
+    }
+
+    /**
+     * Redis 降级配置（rate-limit.fallback.*）：Redis 异常或变慢时改用本地令牌桶
+     */
+    @Data
+    public static class Fallback {
+
+        private boolean enabled = true;
+        /** Redis 调用耗时（指数滑动平均）超过该值即切换为本地限流 */
+        private Duration latencyThreshold = Duration.ofMillis(50);
+        /** 降级期间每隔该时长放行一次 Redis 探测，探测成功且耗时达标则恢复 */
+        private Duration probeInterval = Duration.ofSeconds(5);
+        /** 降级时本地令牌桶容量占注解 permits 的比例（单节点口径，宜保守） */
+        private double permitsRatio = 0.5;
+    }
+
+    /**
+     * 动态限流规则配置（rate-limit.rules.*）
+     */
+    @Data
+    public static class Rules {
+
+        private boolean enabled = true;
+        /** 本地规则表回源 Redis 的间隔，兜底丢失的变更消息 */
+        private Duration syncInterval = Duration.ofSeconds(30);
+    }
+
+    /**
+     * 高频客户端拦截配置（rate-limit.heavy-hitter.*）：按客户端 IP / 令牌统计衰减计数，超过阈值即在过滤器中直接返回 429
+     */
+    @Data
+    public static class HeavyHitter {
+
+        private boolean enabled = true;
+        private int width = 4096;
+        private int depth = 4;
+        /** 计数减半的间隔；稳态下计数约为每个间隔请求数的 2 倍 */
+        private Duration window = Duration.ofSeconds(10);
+        private int threshold = 2000;
+        private Duration blockDuration = Duration.ofMinutes(5);
+        private long maxBlocked = 100000;
+        /** 与其他节点交换封禁名单的间隔 */
+        private Duration syncInterval = Duration.ofSeconds(30);
+        private List<String> exemptIps = new ArrayList<>();
+        /** 受信代理（IP 或 CIDR）：仅当连接对端在此列表中时才采信 X-Forwarded-For / X-Real-IP，为空时一律取对端地址 */
+        private List<String> trustedProxies = new ArrayList<>();
+    }
+}
@@ -1,15 +1,20 @@
 package dev.tagtag.framework.config;
 
 import dev.tagtag.kernel.constant.SecurityConstants;
+import dev.tagtag.framework.security.config.PrincipalJwtAuthenticationConverter;
 import dev.tagtag.framework.security.filter.CustomBearerTokenResolver;
 import dev.tagtag.framework.security.filter.TokenVersionFilter;
 import dev.tagtag.framework.security.handler.CustomAuthenticationEntryPoint;
 import dev.tagtag.framework.security.handler.CustomAccessDeniedHandler;
+import dev.tagtag.framework.security.model.PrincipalAuthenticationToken;
+import dev.tagtag.framework.security.util.PermitPathMatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -17,8 +22,8 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationFilter;
 
 import java.util.List;
@@ -30,7 +35,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final JwtAuthenticationConverter jwtAuthenticationConverter;
+    private final PrincipalJwtAuthenticationConverter jwtAuthenticationConverter;
     private final TokenVersionFilter tokenVersionFilter;
     private final CustomAuthenticationEntryPoint entryPoint;
     private final CustomAccessDeniedHandler accessDeniedHandler;
@@ -40,12 +45,14 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         List<String> permitPaths = securityProperties.getEffectivePermitPaths();
         log.info("Security permit paths: {}", permitPaths);
+        PermitPathMatcher permitPathMatcher = PermitPathMatcher.compile(permitPaths);
 
         http.csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, SecurityConstants.URL_PATTERN_ALL).permitAll()
-                        .requestMatchers(permitPaths.toArray(new String[0])).permitAll()
+                        .requestMatchers(permitPathMatcher).permitAll()
+                        .requestMatchers(SecurityConstants.ACTUATOR_PATTERN).access(adminOnly())
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(eh -> eh
@@ -54,7 +61,7 @@ public class SecurityConfig {
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter))
-                        .bearerTokenResolver(new CustomBearerTokenResolver(permitPaths))
+                        .bearerTokenResolver(new CustomBearerTokenResolver(permitPathMatcher))
                         .authenticationEntryPoint(entryPoint)
                 )
                 .addFilterAfter(tokenVersionFilter, BearerTokenAuthenticationFilter.class);
@@ -62,6 +69,17 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * 仅管理员可访问：未列入公开路径的 actuator 端点（metrics 等）均按此校验
+     * @return 授权管理器
+     */
+    private static AuthorizationManager<RequestAuthorizationContext> adminOnly() {
+        return (authentication, context) -> new AuthorizationDecision(
+                authentication.get() instanceof PrincipalAuthenticationToken token
+                        && token.getUserPrincipal() != null
+                        && token.getUserPrincipal().isAdmin());
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
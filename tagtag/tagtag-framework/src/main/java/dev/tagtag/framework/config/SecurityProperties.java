@@ -5,6 +5,7 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -15,6 +16,10 @@ import java.util.List;
 public class SecurityProperties {
 
     private List<String> permitPaths = new ArrayList<>();
+    private TokenVersion tokenVersion = new TokenVersion();
+    private Revocation revocation = new Revocation();
+    private DecoderCache decoderCache = new DecoderCache();
+    private PermissionClaim permissionClaim = new PermissionClaim();
 
     public List<String> getEffectivePermitPaths() {
         List<String> paths = new ArrayList<>(SecurityConstants.DEFAULT_PUBLIC_PATHS);
@@ -23,4 +28,54 @@ public class SecurityProperties {
         }
         return paths;
     }
+
+    /**
+     * 令牌版本本地缓存配置（security.token-version.*）
+     */
+    @Data
+    public static class TokenVersion {
+
+        private boolean localEnabled = true;
+        private long localMaxSize = 100000;
+        /** 本地条目回源 Redis 的间隔，兜底丢失的失效消息 */
+        private Duration localTtl = Duration.ofSeconds(30);
+    }
+
+    /**
+     * 按 jti 的令牌吊销列表配置（security.revocation.*）
+     */
+    @Data
+    public static class Revocation {
+
+        private boolean enabled = true;
+        /** 按令牌过期时间分桶的宽度 */
+        private Duration bucketWidth = Duration.ofHours(1);
+        /** 单个桶预期的吊销数（决定位图大小） */
+        private long expectedPerBucket = 10000;
+        private double falsePositiveRate = 1e-6;
+        private Duration syncInterval = Duration.ofSeconds(30);
+        private long maxBuckets = 512;
+    }
+
+    /**
+     * 已验签 JWT 缓存配置（security.decoder-cache.*）
+     */
+    @Data
+    public static class DecoderCache {
+
+        private boolean enabled = true;
+        private long maxSize = 10000;
+        /** 距 exp 不足该时长的令牌不再命中缓存，交由解码器重新校验 */
+        private Duration expiryMargin = Duration.ofSeconds(5);
+    }
+
+    /**
+     * 令牌权限声明编码配置（security.permission-claim.*）
+     */
+    @Data
+    public static class PermissionClaim {
+
+        /** 以权限字典位图（pbits）代替完整权限编码列表（perms），显著缩短令牌 */
+        private boolean compact = true;
+    }
 }
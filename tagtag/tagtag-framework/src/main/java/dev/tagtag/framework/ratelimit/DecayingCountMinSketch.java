@@ -0,0 +1,83 @@
+package dev.tagtag.framework.ratelimit;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 衰减 count-min sketch：depth 行 × width 列的计数矩阵，每个键在每行落入一个计数器，估计值取各行最小值（只会高估）
+ * 按固定间隔调用 decay() 把全部计数减半，计数近似为指数衰减的请求速率；内存固定，与键的数量无关。
+ * 每行使用启动时随机生成的哈希种子，外部无法预先构造在所有行上碰撞的键。
+ */
+public class DecayingCountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[] seeds;
+    private final AtomicIntegerArray counters;
+
+    /**
+     * 构造函数
+     * @param width 每行计数器数（向上取整为 2 的幂）
+     * @param depth 行数
+     */
+    public DecayingCountMinSketch(int width, int depth) {
+        this.width = Integer.highestOneBit(Math.max(16, width - 1)) << 1;
+        this.depth = Math.max(1, depth);
+        this.seeds = new long[this.depth];
+        for (int i = 0; i < this.depth; i++) {
+            seeds[i] = ThreadLocalRandom.current().nextLong();
+        }
+        this.counters = new AtomicIntegerArray(this.width * this.depth);
+    }
+
+    /**
+     * 计数加一
+     * @param key 键
+     * @return 加一后的估计值
+     */
+    public int add(String key) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int value = counters.incrementAndGet(index(key, row));
+            if (value < min) {
+                min = value;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * 估计值（不计数）
+     * @param key 键
+     * @return 估计值
+     */
+    public int estimate(String key) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(index(key, row)));
+        }
+        return min;
+    }
+
+    /**
+     * 全部计数减半
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            if (counters.get(i) != 0) {
+                counters.getAndUpdate(i, v -> v >>> 1);
+            }
+        }
+    }
+
+    private int index(String key, int row) {
+        long h = seeds[row];
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return row * width + (int) (h & (width - 1));
+    }
+}
@@ -0,0 +1,177 @@
+package dev.tagtag.framework.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.tagtag.framework.config.RateLimitProperties;
+import dev.tagtag.kernel.constant.CacheConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 高频客户端拦截：以衰减 count-min sketch 统计每个客户端标识（IP / 令牌指纹）的请求数，超过阈值即封禁一段时间
+ * 计数与判定只在本地内存中进行，请求路径上不访问 Redis；
+ * 封禁名单按较低频率与其他节点交换：本节点新增的封禁写入 Redis 有序集合（分值为解封时间），再读回全部未过期的封禁。
+ */
+@Slf4j
+@Component
+public class HeavyHitterGuard implements SmartLifecycle {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RateLimitProperties.HeavyHitter config;
+    private final DecayingCountMinSketch sketch;
+    private final Set<String> exemptIps;
+    /** 本节点判定的封禁：标识 → 解封时间 */
+    private final Cache<String, Long> localBlocked;
+    /** 尚未写入 Redis 的本节点封禁 */
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    /** 从 Redis 读回的全部节点封禁：标识 → 解封时间 */
+    private volatile Map<String, Long> sharedBlocked = Map.of();
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 构造函数
+     * @param stringRedisTemplate Redis 模板（封禁名单交换）
+     * @param properties 限流配置（rate-limit.heavy-hitter.*）
+     */
+    public HeavyHitterGuard(StringRedisTemplate stringRedisTemplate, RateLimitProperties properties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.config = properties.getHeavyHitter();
+        this.sketch = new DecayingCountMinSketch(config.getWidth(), config.getDepth());
+        this.exemptIps = Set.copyOf(config.getExemptIps());
+        this.localBlocked = Caffeine.newBuilder()
+                .maximumSize(config.getMaxBlocked())
+                .expireAfterWrite(config.getBlockDuration())
+                .build();
+    }
+
+    /**
+     * 是否启用
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * IP 是否免检
+     * @param ip 客户端 IP
+     * @return 是否免检
+     */
+    public boolean isExempt(String ip) {
+        return ip != null && exemptIps.contains(ip);
+    }
+
+    /**
+     * 记录一次请求并判定是否拦截：已在封禁名单中，或计数超过阈值（随即封禁）
+     * @param identity 客户端标识（如 ip:1.2.3.4、tok:指纹）
+     * @return 是否拦截
+     */
+    public boolean hit(String identity) {
+        long now = System.currentTimeMillis();
+        if (isBlocked(identity, now)) {
+            return true;
+        }
+        if (sketch.add(identity) <= config.getThreshold()) {
+            return false;
+        }
+        long until = now + config.getBlockDuration().toMillis();
+        if (localBlocked.asMap().putIfAbsent(identity, until) == null) {
+            pending.put(identity, until);
+            log.warn("Heavy hitter blocked: identity={}, until={}", identity, until);
+        }
+        return true;
+    }
+
+    /**
+     * 计数减半（按 window 间隔调用）
+     */
+    void decay() {
+        sketch.decay();
+    }
+
+    /**
+     * 写入本节点新增的封禁，清理过期封禁，并读回全部节点的封禁
+     */
+    void sync() {
+        long now = System.currentTimeMillis();
+        Map<String, Long> batch = new HashMap<>(pending);
+        batch.keySet().forEach(pending::remove);
+        try {
+            ZSetOperations<String, String> zset = stringRedisTemplate.opsForZSet();
+            if (!batch.isEmpty()) {
+                Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>(batch.size() * 2);
+                batch.forEach((identity, until) -> tuples.add(new DefaultTypedTuple<>(identity, until.doubleValue())));
+                zset.add(CacheConstants.HEAVY_HITTER_BLOCKED_KEY, tuples);
+                stringRedisTemplate.expire(CacheConstants.HEAVY_HITTER_BLOCKED_KEY, config.getBlockDuration().multipliedBy(2));
+            }
+            zset.removeRangeByScore(CacheConstants.HEAVY_HITTER_BLOCKED_KEY, 0, now);
+            Set<ZSetOperations.TypedTuple<String>> active = zset.rangeByScoreWithScores(
+                    CacheConstants.HEAVY_HITTER_BLOCKED_KEY, now, Double.POSITIVE_INFINITY, 0, config.getMaxBlocked());
+            Map<String, Long> shared = new HashMap<>();
+            if (active != null) {
+                for (ZSetOperations.TypedTuple<String> tuple : active) {
+                    if (tuple.getValue() != null && tuple.getScore() != null) {
+                        shared.put(tuple.getValue(), tuple.getScore().longValue());
+                    }
+                }
+            }
+            sharedBlocked = Map.copyOf(shared);
+        } catch (Exception e) {
+            batch.forEach(pending::putIfAbsent);
+            log.warn("Failed to sync heavy hitter block list", e);
+        }
+    }
+
+    private boolean isBlocked(String identity, long now) {
+        Long until = localBlocked.getIfPresent(identity);
+        if (until == null) {
+            until = sharedBlocked.get(identity);
+        }
+        return until != null && until > now;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!config.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "heavy-hitter-guard");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long window = config.getWindow().toMillis();
+        scheduler.scheduleAtFixedRate(this::decay, window, window, TimeUnit.MILLISECONDS);
+        long sync = config.getSyncInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::sync, sync, sync, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,302 @@
+package dev.tagtag.framework.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.tagtag.framework.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 混合限流器：Redis 上的 GCRA（通用信元速率算法）为准，本地做预检与降级
+ * GCRA：每个键只存理论到达时间（TAT），速率 permits / periodSeconds，任意时长 t 内最多放行 burst + t × 速率 次，
+ * 没有固定窗口边界处的双倍突发；多个维度在同一次脚本调用中判定，全部通过才同时占用，任一超限即整体拒绝。
+ * 预检：被 Redis 拒绝的维度记下可重试时间（TAT 只增不减，其他节点只会让它更晚），到期前本地直接拒绝，不再访问 Redis；
+ * 降级：Redis 抛异常或调用耗时（指数滑动平均）超过阈值时切换为本地令牌桶（容量与速率按比例收紧），
+ * 降级期间每个探测间隔放行一次 Redis 调用，成功且耗时达标即恢复。
+ */
+@Slf4j
+@Component
+public class HybridRateLimiter {
+
+    /** 脚本返回整数列表；泛型类型无法写成类字面量，只在这里做一次未检查转换 */
+    @SuppressWarnings("unchecked")
+    private static final Class<List<Long>> LONG_LIST = (Class<List<Long>>) (Class<?>) List.class;
+
+    /**
+     * KEYS[i]=维度键，ARGV[2i-1]=发射间隔毫秒，ARGV[2i]=突发容忍毫秒；时间取 Redis 服务器时钟
+     * 全部通过返回 {1}，否则返回 {0, 各维度需等待的毫秒（通过的维度为 0）...}，且不修改任何键
+     */
+    private static final RedisScript<List<Long>> GCRA_SCRIPT = new DefaultRedisScript<>(
+            "local t = redis.call('TIME') " +
+            "local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000) " +
+            "local tats = {} " +
+            "local waits = {0} " +
+            "local denied = false " +
+            "for i = 1, #KEYS do " +
+            "  local interval = tonumber(ARGV[2 * i - 1]) " +
+            "  local tolerance = tonumber(ARGV[2 * i]) " +
+            "  local tat = tonumber(redis.call('GET', KEYS[i]) or now) " +
+            "  if tat < now then tat = now end " +
+            "  local wait = tat - tolerance - now " +
+            "  if wait > 0 then denied = true else wait = 0 end " +
+            "  waits[i + 1] = wait " +
+            "  tats[i] = tat + interval " +
+            "end " +
+            "if denied then return waits end " +
+            "for i = 1, #KEYS do " +
+            "  redis.call('SET', KEYS[i], string.format('%d', tats[i]), 'PX', tats[i] - now) " +
+            "end " +
+            "return {1}",
+            LONG_LIST);
+
+    private static final long HEALTHY = Long.MIN_VALUE;
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RateLimitProperties.Local localConfig;
+    private final RateLimitProperties.Fallback fallbackConfig;
+    private final long latencyThresholdNanos;
+    private final long probeIntervalNanos;
+    private final Cache<String, LocalLimit> limits;
+    /** 降级截止时间（nanoTime），HEALTHY 表示未降级 */
+    private final AtomicLong degradedUntil = new AtomicLong(HEALTHY);
+    private volatile double latencyEwmaNanos;
+
+    /**
+     * 构造函数
+     * @param stringRedisTemplate Redis 模板
+     * @param properties 限流配置（rate-limit.*）
+     */
+    public HybridRateLimiter(StringRedisTemplate stringRedisTemplate, RateLimitProperties properties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.localConfig = properties.getLocal();
+        this.fallbackConfig = properties.getFallback();
+        this.latencyThresholdNanos = fallbackConfig.getLatencyThreshold().toNanos();
+        this.probeIntervalNanos = fallbackConfig.getProbeInterval().toNanos();
+        this.limits = Caffeine.newBuilder()
+                .maximumSize(localConfig.getMaxKeys())
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    /**
+     * 单维度限流
+     * @param key 限流键（Redis 键）
+     * @param permits 每周期允许次数
+     * @param periodSeconds 周期秒数
+     * @return 是否放行
+     */
+    public boolean tryAcquire(String key, int permits, int periodSeconds) {
+        return tryAcquire(List.of(new Limit(key, permits, periodSeconds, 0)));
+    }
+
+    /**
+     * 多维度限流：全部维度通过才放行
+     * @param rules 各维度规则
+     * @return 是否放行
+     */
+    public boolean tryAcquire(List<Limit> rules) {
+        if (rules.isEmpty()) {
+            return true;
+        }
+        long now = System.nanoTime();
+        List<LocalLimit> locals = new ArrayList<>(rules.size());
+        for (Limit rule : rules) {
+            LocalLimit local = limits.get(rule.key(), k -> new LocalLimit());
+            if (localConfig.isEnabled() && local.blocked(now)) {
+                return false;
+            }
+            locals.add(local);
+        }
+        if (!fallbackConfig.isEnabled()) {
+            try {
+                return acquireRedis(rules, locals);
+            } catch (RuntimeException e) {
+                return true;
+            }
+        }
+        if (!useRedis(now)) {
+            return acquireLocal(rules, locals, now);
+        }
+        long start = System.nanoTime();
+        try {
+            boolean allowed = acquireRedis(rules, locals);
+            recordLatency(System.nanoTime() - start);
+            return allowed;
+        } catch (RuntimeException e) {
+            trip("Redis error: " + e.getMessage());
+            return acquireLocal(rules, locals, now);
+        }
+    }
+
+    /**
+     * 当前是否处于本地降级状态
+     * @return 是否降级
+     */
+    public boolean isDegraded() {
+        return degradedUntil.get() != HEALTHY;
+    }
+
+    private boolean acquireRedis(List<Limit> rules, List<LocalLimit> locals) {
+        List<String> keys = new ArrayList<>(rules.size());
+        Object[] args = new Object[rules.size() * 2];
+        for (int i = 0; i < rules.size(); i++) {
+            Limit rule = rules.get(i);
+            keys.add(rule.key());
+            args[2 * i] = String.valueOf(rule.intervalMillis());
+            args[2 * i + 1] = String.valueOf(rule.toleranceMillis());
+        }
+        List<Long> result = stringRedisTemplate.execute(GCRA_SCRIPT, keys, args);
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("Unexpected rate limit script result: " + result);
+        }
+        if (result.get(0) == 1L) {
+            return true;
+        }
+        long now = System.nanoTime();
+        for (int i = 0; i < locals.size() && i + 1 < result.size(); i++) {
+            long waitMillis = result.get(i + 1);
+            if (waitMillis > 0) {
+                locals.get(i).blockUntil(now + TimeUnit.MILLISECONDS.toNanos(waitMillis));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 降级时逐个维度占用本地令牌，任一维度不足则归还已占用的令牌
+     */
+    private boolean acquireLocal(List<Limit> rules, List<LocalLimit> locals, long now) {
+        double ratio = fallbackConfig.getPermitsRatio();
+        for (int i = 0; i < rules.size(); i++) {
+            if (!locals.get(i).tryAcquireLocal(rules.get(i), ratio, now)) {
+                for (int j = 0; j < i; j++) {
+                    locals.get(j).release(rules.get(j), ratio);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 未降级时始终访问 Redis；降级后到期的探测名额只给一个调用方
+     */
+    private boolean useRedis(long now) {
+        long until = degradedUntil.get();
+        if (until == HEALTHY) {
+            return true;
+        }
+        return now - until >= 0 && degradedUntil.compareAndSet(until, now + probeIntervalNanos);
+    }
+
+    private void recordLatency(long elapsedNanos) {
+        boolean degraded = isDegraded();
+        double ewma = latencyEwmaNanos;
+        ewma = (ewma == 0 || degraded) ? elapsedNanos : ewma * (1 - EWMA_ALPHA) + elapsedNanos * EWMA_ALPHA;
+        latencyEwmaNanos = ewma;
+        if (ewma > latencyThresholdNanos) {
+            trip("Redis latency " + TimeUnit.NANOSECONDS.toMillis((long) ewma) + "ms");
+        } else if (degraded && degradedUntil.getAndSet(HEALTHY) != HEALTHY) {
+            log.info("Rate limiter recovered, using Redis again");
+        }
+    }
+
+    private void trip(String reason) {
+        if (degradedUntil.getAndSet(System.nanoTime() + probeIntervalNanos) == HEALTHY) {
+            log.warn("Rate limiter falling back to local token buckets: {}", reason);
+        }
+    }
+
+    /**
+     * 单个维度的限流规则
+     * @param key Redis 键
+     * @param permits 每周期允许次数
+     * @param periodSeconds 周期秒数
+     * @param burst 突发量，不大于 0 时取 permits
+     */
+    public record Limit(String key, int permits, int periodSeconds, int burst) {
+
+        public Limit {
+            permits = Math.max(permits, 1);
+            periodSeconds = Math.max(periodSeconds, 1);
+            burst = burst > 0 ? burst : permits;
+        }
+
+        /**
+         * 发射间隔：相邻两次放行的平均间隔毫秒
+         */
+        long intervalMillis() {
+            return Math.max(1, TimeUnit.SECONDS.toMillis(periodSeconds) / permits);
+        }
+
+        /**
+         * 突发容忍：TAT 允许超前当前时间的毫秒数
+         */
+        long toleranceMillis() {
+            return (burst - 1) * intervalMillis();
+        }
+    }
+
+    /**
+     * 单键本地状态：Redis 拒绝后的可重试时间 + 降级令牌桶
+     */
+    private static final class LocalLimit {
+
+        private long blockedUntil;
+        private boolean blocking;
+        private double tokens = Double.NaN;
+        private long lastRefill;
+
+        synchronized boolean blocked(long now) {
+            if (blocking && now - blockedUntil >= 0) {
+                blocking = false;
+            }
+            return blocking;
+        }
+
+        synchronized void blockUntil(long until) {
+            if (!blocking || until - blockedUntil > 0) {
+                blockedUntil = until;
+            }
+            blocking = true;
+        }
+
+        /**
+         * 令牌桶：容量 burst × ratio，速率 permits × ratio / periodSeconds；首次使用时为满桶
+         */
+        synchronized boolean tryAcquireLocal(Limit rule, double ratio, long now) {
+            double capacity = capacity(rule, ratio);
+            if (Double.isNaN(tokens)) {
+                tokens = capacity;
+            } else {
+                double refill = (double) (now - lastRefill) * Math.max(1, rule.permits() * ratio)
+                        / TimeUnit.SECONDS.toNanos(rule.periodSeconds());
+                tokens = Math.min(capacity, tokens + Math.max(0, refill));
+            }
+            lastRefill = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized void release(Limit rule, double ratio) {
+            tokens = Math.min(capacity(rule, ratio), tokens + 1);
+        }
+
+        private static double capacity(Limit rule, double ratio) {
+            return Math.max(1, Math.floor(rule.burst() * ratio));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package dev.tagtag.framework.ratelimit;
+
+import dev.tagtag.kernel.annotation.RateLimit;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 限流规则：与 @RateLimit 的属性一一对应，既可由注解编译得到，也可作为动态规则保存在 Redis 中覆盖注解
+ * @param enabled 是否启用
+ * @param permits 每周期允许次数（dimensions 为空时生效）
+ * @param periodSeconds 周期秒数（dimensions 为空时生效）
+ * @param burst 突发量（dimensions 为空时生效，不大于 0 时取 permits）
+ * @param dimensions 限流维度
+ */
+public record RateLimitRule(boolean enabled, int permits, int periodSeconds, int burst, List<Dimension> dimensions) {
+
+    public RateLimitRule {
+        dimensions = dimensions == null ? List.of() : List.copyOf(dimensions);
+    }
+
+    /**
+     * 由注解编译规则
+     * @param limit 注解
+     * @return 规则
+     */
+    public static RateLimitRule of(RateLimit limit) {
+        List<Dimension> dimensions = new ArrayList<>(limit.dimensions().length);
+        for (RateLimit.Dimension d : limit.dimensions()) {
+            dimensions.add(new Dimension(d.scope(), d.expression(), d.permits(), d.periodSeconds(), d.burst()));
+        }
+        return new RateLimitRule(limit.enabled(), limit.permits(), limit.periodSeconds(), limit.burst(), dimensions);
+    }
+
+    /**
+     * 校验规则取值（动态规则写入前调用）
+     * @throws IllegalArgumentException 取值非法
+     */
+    public void validate() {
+        if (dimensions.isEmpty()) {
+            requirePositive(permits, "permits");
+            requirePositive(periodSeconds, "periodSeconds");
+        }
+        for (Dimension d : dimensions) {
+            if (d.scope() == null) {
+                throw new IllegalArgumentException("Dimension scope is required");
+            }
+            if (d.scope() == RateLimit.Scope.ARG && !StringUtils.hasText(d.expression())) {
+                throw new IllegalArgumentException("ARG dimension requires an expression");
+            }
+            requirePositive(d.permits(), "dimension permits");
+            requirePositive(d.periodSeconds(), "dimension periodSeconds");
+        }
+    }
+
+    private static void requirePositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive: " + value);
+        }
+    }
+
+    /**
+     * 限流维度
+     * @param scope 范围
+     * @param expression scope 为 ARG 时的 SpEL 表达式
+     * @param permits 每周期允许次数
+     * @param periodSeconds 周期秒数
+     * @param burst 突发量
+     */
+    public record Dimension(RateLimit.Scope scope, String expression, int permits, int periodSeconds, int burst) {}
+}
@@ -0,0 +1,187 @@
+package dev.tagtag.framework.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tagtag.framework.config.RateLimitProperties;
+import dev.tagtag.kernel.constant.CacheConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 动态限流规则：按规则名（@RateLimit 的 key，未指定时为方法签名）覆盖注解上的限流参数，无需重新部署即可收紧或放宽
+ * 规则以 JSON 保存在 Redis 哈希中，本节点持有编译后的不可变查找表（按名称 O(1) 查找）；
+ * 变更后通过 Pub/Sub 通知各节点整表重载，并由后台线程按间隔回源 Redis 兜底丢失的消息，请求路径上只做本地查找。
+ */
+@Slf4j
+@Service
+public class RateLimitRules implements MessageListener, SmartLifecycle {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long syncIntervalMillis;
+    private volatile Map<String, RateLimitRule> overrides = Map.of();
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 构造函数：加载规则并订阅变更频道
+     * @param stringRedisTemplate Redis 模板
+     * @param objectMapper 规则与消息序列化
+     * @param redisMessageListenerContainer 消息订阅容器
+     * @param properties 限流配置（rate-limit.rules.*）
+     */
+    public RateLimitRules(StringRedisTemplate stringRedisTemplate,
+                          ObjectMapper objectMapper,
+                          RedisMessageListenerContainer redisMessageListenerContainer,
+                          RateLimitProperties properties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = properties.getRules().isEnabled();
+        this.syncIntervalMillis = properties.getRules().getSyncInterval().toMillis();
+        if (enabled) {
+            reload();
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CacheConstants.RATE_LIMIT_RULES_CHANNEL));
+        }
+    }
+
+    /**
+     * 取生效规则：存在动态规则时返回动态规则，否则返回注解规则（仅查本地规则表）
+     * @param name 规则名
+     * @param defaults 注解编译得到的规则
+     * @return 生效规则
+     */
+    public RateLimitRule resolve(String name, RateLimitRule defaults) {
+        if (!enabled) {
+            return defaults;
+        }
+        RateLimitRule rule = overrides.get(name);
+        return rule == null ? defaults : rule;
+    }
+
+    /**
+     * 列出全部动态规则
+     * @return 规则名 → 规则（按名称排序）
+     */
+    public Map<String, RateLimitRule> list() {
+        return new TreeMap<>(overrides);
+    }
+
+    /**
+     * 新增或替换动态规则并通知其他节点
+     * @param name 规则名
+     * @param rule 规则
+     */
+    public void put(String name, RateLimitRule rule) {
+        rule.validate();
+        try {
+            stringRedisTemplate.opsForHash().put(CacheConstants.RATE_LIMIT_RULES_KEY, name, objectMapper.writeValueAsString(rule));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid rate limit rule: " + name, e);
+        }
+        reload();
+        publish(name);
+    }
+
+    /**
+     * 删除动态规则（恢复注解上的限流参数）并通知其他节点
+     * @param name 规则名
+     */
+    public void remove(String name) {
+        stringRedisTemplate.opsForHash().delete(CacheConstants.RATE_LIMIT_RULES_KEY, name);
+        reload();
+        publish(name);
+    }
+
+    /**
+     * 接收其他节点的规则变更，整表重载
+     * @param message 消息
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        reload();
+    }
+
+    /**
+     * 从 Redis 重载全部规则；单条规则解析失败时跳过，Redis 不可用时保留现有规则
+     */
+    private synchronized void reload() {
+        try {
+            Map<Object, Object> raw = stringRedisTemplate.opsForHash().entries(CacheConstants.RATE_LIMIT_RULES_KEY);
+            Map<String, RateLimitRule> loaded = new HashMap<>(raw.size() * 2);
+            for (Map.Entry<Object, Object> entry : raw.entrySet()) {
+                String name = String.valueOf(entry.getKey());
+                try {
+                    RateLimitRule rule = objectMapper.readValue(String.valueOf(entry.getValue()), RateLimitRule.class);
+                    rule.validate();
+                    loaded.put(name, rule);
+                } catch (Exception e) {
+                    log.warn("Skipping invalid rate limit rule: name={}", name, e);
+                }
+            }
+            if (!loaded.equals(overrides)) {
+                log.info("Rate limit rules loaded: {}", loaded.keySet());
+            }
+            overrides = Map.copyOf(loaded);
+        } catch (Exception e) {
+            log.warn("Failed to load rate limit rules", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled || syncIntervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rate-limit-rules-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reload, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void publish(String name) {
+        try {
+            stringRedisTemplate.convertAndSend(CacheConstants.RATE_LIMIT_RULES_CHANNEL,
+                    objectMapper.writeValueAsString(new RuleMessage(name)));
+        } catch (Exception e) {
+            log.warn("Failed to publish rate limit rule change: name={}", name, e);
+        }
+    }
+
+    /**
+     * 规则变更消息体
+     * @param name 规则名
+     */
+    record RuleMessage(String name) {}
+}
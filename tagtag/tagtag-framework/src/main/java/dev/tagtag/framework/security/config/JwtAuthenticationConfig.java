@@ -1,5 +1,6 @@
 package dev.tagtag.framework.security.config;
 
+import dev.tagtag.framework.security.service.PermissionDictionary;
 import dev.tagtag.kernel.constant.Roles;
 import dev.tagtag.kernel.constant.SecurityClaims;
 import lombok.NonNull;
@@ -7,7 +8,6 @@ import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -22,14 +22,21 @@ import java.util.stream.Stream;
 public class JwtAuthenticationConfig {
 
     @Bean
-    public JwtAuthenticationConverter jwtAuthenticationConverter() {
-        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
-        converter.setJwtGrantedAuthoritiesConverter(new JwtGrantedAuthoritiesConverter());
-        return converter;
+    public PrincipalJwtAuthenticationConverter jwtAuthenticationConverter(PermissionDictionary permissionDictionary) {
+        return new PrincipalJwtAuthenticationConverter(new JwtGrantedAuthoritiesConverter(permissionDictionary));
     }
 
     public static class JwtGrantedAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
 
+        private final PermissionDictionary permissionDictionary;
+
+        /**
+         * @param permissionDictionary 权限字典（解码 pbits 声明，可为空）
+         */
+        public JwtGrantedAuthoritiesConverter(PermissionDictionary permissionDictionary) {
+            this.permissionDictionary = permissionDictionary;
+        }
+
         @Override
         public Collection<GrantedAuthority> convert(@NonNull Jwt jwt) {
             Set<GrantedAuthority> authorities = new LinkedHashSet<>();
@@ -42,6 +49,10 @@ public class JwtAuthenticationConfig {
             }
 
             Collection<String> perms = extractClaimAsCollection(jwt, SecurityClaims.PERMS);
+            String permBits = jwt.getClaimAsString(SecurityClaims.PERM_BITS);
+            if (permBits != null && permissionDictionary != null) {
+                perms = permissionDictionary.decode(permBits);
+            }
             if (perms != null) {
                 authorities.addAll(perms.stream()
                         .map(SimpleGrantedAuthority::new)
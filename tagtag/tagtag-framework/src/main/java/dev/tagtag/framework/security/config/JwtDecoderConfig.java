@@ -1,11 +1,20 @@
 package dev.tagtag.framework.security.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
 import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.config.SecurityProperties;
+import dev.tagtag.framework.security.service.CachingJwtDecoder;
+import dev.tagtag.framework.security.service.JwtKeyRing;
 import dev.tagtag.framework.security.strategy.JwtDecoderStrategy;
+import dev.tagtag.framework.security.strategy.impl.EcJwtDecoderStrategy;
+import dev.tagtag.framework.security.strategy.impl.Ed25519JwtDecoderStrategy;
 import dev.tagtag.framework.security.strategy.impl.HmacJwtDecoderStrategy;
+import dev.tagtag.framework.security.strategy.impl.KeyRingJwtDecoderStrategy;
 import dev.tagtag.framework.security.strategy.impl.RsaJwtDecoderStrategy;
 import dev.tagtag.framework.security.util.JwtKeyUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
@@ -15,11 +24,21 @@ import org.springframework.security.oauth2.jwt.JwtDecoder;
 public class JwtDecoderConfig {
 
     private final JwtProperties jwtProperties;
+    private final SecurityProperties securityProperties;
+    private final JwtKeyRing jwtKeyRing;
 
     @Bean
-    public JwtDecoder jwtDecoder() {
+    public JwtDecoder jwtDecoder(ObjectProvider<MeterRegistry> meterRegistry) {
         JwtDecoderStrategy strategy = createDecoderStrategy();
-        return strategy.createDecoder();
+        JwtDecoder decoder = strategy.createDecoder();
+        SecurityProperties.DecoderCache cache = securityProperties.getDecoderCache();
+        if (!cache.isEnabled()) {
+            return decoder;
+        }
+        CachingJwtDecoder caching = new CachingJwtDecoder(decoder, cache.getMaxSize(), cache.getExpiryMargin(), meterRegistry.getIfAvailable());
+        // 密钥退役期结束被移除后，不再放行之前缓存的、由该密钥签名的令牌
+        jwtKeyRing.onKeysRemoved(caching::invalidateAll);
+        return caching;
     }
 
     @Bean
@@ -28,9 +47,23 @@ public class JwtDecoderConfig {
     }
 
     private JwtDecoderStrategy createDecoderStrategy() {
-        if (JwtKeyUtils.hasRSAPublicKey(jwtProperties)) {
+        if (jwtKeyRing.isEnabled()) {
+            return new KeyRingJwtDecoderStrategy(jwtKeyRing);
+        }
+        JWSAlgorithm algorithm = JwtKeyUtils.resolveAlgorithm(jwtProperties);
+        if (JwtKeyUtils.isAlgorithmConfigured(jwtProperties)) {
+            JwtKeyUtils.requireKeyMaterial(jwtProperties, algorithm, false);
+        }
+        if (JWSAlgorithm.EdDSA.equals(algorithm)) {
+            return new Ed25519JwtDecoderStrategy(jwtProperties);
+        }
+        if (JWSAlgorithm.ES256.equals(algorithm)) {
+            return new EcJwtDecoderStrategy(jwtProperties);
+        }
+        if (JWSAlgorithm.RS256.equals(algorithm) && JwtKeyUtils.hasRSAPublicKey(jwtProperties)) {
             return new RsaJwtDecoderStrategy(jwtProperties);
         }
+        // 仅在未显式配置算法时回退为 HMAC
         return new HmacJwtDecoderStrategy(jwtProperties);
     }
 }
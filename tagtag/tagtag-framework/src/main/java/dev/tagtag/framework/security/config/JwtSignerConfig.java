@@ -1,8 +1,13 @@
 package dev.tagtag.framework.security.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
 import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.service.JwtKeyRing;
 import dev.tagtag.framework.security.strategy.JwtSignerStrategy;
+import dev.tagtag.framework.security.strategy.impl.EcJwtSignerStrategy;
+import dev.tagtag.framework.security.strategy.impl.Ed25519JwtSignerStrategy;
 import dev.tagtag.framework.security.strategy.impl.HmacJwtSignerStrategy;
+import dev.tagtag.framework.security.strategy.impl.KeyRingJwtSignerStrategy;
 import dev.tagtag.framework.security.strategy.impl.RsaJwtSignerStrategy;
 import dev.tagtag.framework.security.util.JwtKeyUtils;
 import lombok.RequiredArgsConstructor;
@@ -14,12 +19,27 @@ import org.springframework.context.annotation.Configuration;
 public class JwtSignerConfig {
 
     private final JwtProperties jwtProperties;
+    private final JwtKeyRing jwtKeyRing;
 
     @Bean
     public JwtSignerStrategy jwtSignerStrategy() {
-        if (JwtKeyUtils.hasRSAPrivateKey(jwtProperties)) {
+        if (jwtKeyRing.isEnabled()) {
+            return new KeyRingJwtSignerStrategy(jwtKeyRing);
+        }
+        JWSAlgorithm algorithm = JwtKeyUtils.resolveAlgorithm(jwtProperties);
+        if (JwtKeyUtils.isAlgorithmConfigured(jwtProperties)) {
+            JwtKeyUtils.requireKeyMaterial(jwtProperties, algorithm, true);
+        }
+        if (JWSAlgorithm.EdDSA.equals(algorithm)) {
+            return new Ed25519JwtSignerStrategy(jwtProperties);
+        }
+        if (JWSAlgorithm.ES256.equals(algorithm)) {
+            return new EcJwtSignerStrategy(jwtProperties);
+        }
+        if (JWSAlgorithm.RS256.equals(algorithm) && JwtKeyUtils.hasRSAPrivateKey(jwtProperties)) {
             return new RsaJwtSignerStrategy(jwtProperties);
         }
+        // 仅在未显式配置算法时回退为 HMAC
         return new HmacJwtSignerStrategy(jwtProperties);
     }
 }
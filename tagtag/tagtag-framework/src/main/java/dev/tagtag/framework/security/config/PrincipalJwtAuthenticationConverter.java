@@ -0,0 +1,39 @@
+package dev.tagtag.framework.security.config;
+
+import dev.tagtag.framework.security.context.AuthContext;
+import dev.tagtag.framework.security.model.PrincipalAuthenticationToken;
+import dev.tagtag.kernel.constant.Roles;
+import lombok.NonNull;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * JWT 转认证令牌：解析权限后一次性构建 UserPrincipal，挂在 PrincipalAuthenticationToken 上供整个请求使用
+ */
+public class PrincipalJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private final Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter;
+
+    public PrincipalJwtAuthenticationConverter(Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter) {
+        this.authoritiesConverter = authoritiesConverter;
+    }
+
+    @Override
+    public AbstractAuthenticationToken convert(@NonNull Jwt jwt) {
+        Collection<GrantedAuthority> authorities = authoritiesConverter.convert(jwt);
+        Set<String> perms = new LinkedHashSet<>();
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (name != null && !name.startsWith(Roles.PREFIX)) {
+                perms.add(name);
+            }
+        }
+        return new PrincipalAuthenticationToken(jwt, authorities, AuthContext.buildPrincipal(jwt, perms));
+    }
+}
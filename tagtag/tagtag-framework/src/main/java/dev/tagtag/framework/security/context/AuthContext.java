@@ -1,17 +1,22 @@
 package dev.tagtag.framework.security.context;
 
+import dev.tagtag.kernel.constant.Roles;
 import dev.tagtag.kernel.constant.SecurityClaims;
+import dev.tagtag.framework.security.model.PrincipalAuthenticationToken;
 import dev.tagtag.framework.security.model.UserPrincipal;
 import dev.tagtag.framework.security.util.JwtClaimUtils;
 import dev.tagtag.common.exception.BusinessException;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
  * 认证上下文工具类，用于获取当前用户信息
+ * 认证令牌为 PrincipalAuthenticationToken 时直接返回认证阶段构建好的 UserPrincipal，不再逐次解析声明
  */
 public final class AuthContext {
 
@@ -38,8 +43,8 @@ public final class AuthContext {
      * @throws BusinessException 如果未认证
      */
     public static Long getCurrentUserId() {
-        Jwt jwt = getCurrentJwt();
-        Long uid = JwtClaimUtils.claimAsLong(jwt, SecurityClaims.UID);
+        UserPrincipal memo = memoizedPrincipal();
+        Long uid = memo != null ? memo.getId() : JwtClaimUtils.claimAsLong(getCurrentJwt(), SecurityClaims.UID);
         if (uid == null) {
             throw BusinessException.unauthorized("未登录或会话已过期");
         }
@@ -52,8 +57,8 @@ public final class AuthContext {
      * @throws BusinessException 如果未认证
      */
     public static String getCurrentUsername() {
-        Jwt jwt = getCurrentJwt();
-        String uname = jwt.getClaim(SecurityClaims.UNAME);
+        UserPrincipal memo = memoizedPrincipal();
+        String uname = memo != null ? memo.getUsername() : getCurrentJwt().getClaim(SecurityClaims.UNAME);
         if (uname == null || uname.isBlank()) {
             throw BusinessException.unauthorized("未登录或会话已过期");
         }
@@ -65,6 +70,10 @@ public final class AuthContext {
      * @return 角色ID集合
      */
     public static Set<Long> getCurrentRoleIds() {
+        UserPrincipal memo = memoizedPrincipal();
+        if (memo != null) {
+            return memo.getRoleIds();
+        }
         Jwt jwt = getCurrentJwt();
         return JwtClaimUtils.claimAsLongSet(jwt, SecurityClaims.ROLES);
     }
@@ -74,8 +83,12 @@ public final class AuthContext {
      * @return 权限集合
      */
     public static Set<String> getCurrentPermissions() {
+        UserPrincipal memo = memoizedPrincipal();
+        if (memo != null) {
+            return memo.getPermissions();
+        }
         Jwt jwt = getCurrentJwt();
-        return JwtClaimUtils.claimAsStringSet(jwt, SecurityClaims.PERMS);
+        return permissionsOf(jwt);
     }
 
     /**
@@ -84,8 +97,8 @@ public final class AuthContext {
      * @throws BusinessException 如果未认证
      */
     public static UserPrincipal getCurrentPrincipal() {
-        Jwt jwt = getCurrentJwt();
-        UserPrincipal p = buildPrincipal(jwt);
+        UserPrincipal memo = memoizedPrincipal();
+        UserPrincipal p = memo != null ? memo : buildPrincipal(getCurrentJwt());
         if (p.getId() == null) {
             throw BusinessException.unauthorized("未登录或会话已过期");
         }
@@ -98,13 +111,57 @@ public final class AuthContext {
      * @return 用户主体
      */
     public static UserPrincipal buildPrincipal(Jwt jwt) {
+        return buildPrincipal(jwt, permissionsOf(jwt));
+    }
+
+    /**
+     * 以已解析的权限集合构建用户主体（认证阶段使用，权限来自 perms 或解码后的 pbits）
+     * @param jwt JWT令牌
+     * @param perms 权限集合
+     * @return 用户主体
+     */
+    public static UserPrincipal buildPrincipal(Jwt jwt, Set<String> perms) {
         Long uid = JwtClaimUtils.claimAsLong(jwt, SecurityClaims.UID);
         String uname = jwt.getClaim(SecurityClaims.UNAME);
         Set<Long> roleIds = JwtClaimUtils.claimAsLongSet(jwt, SecurityClaims.ROLES);
-        Set<String> perms = JwtClaimUtils.claimAsStringSet(jwt, SecurityClaims.PERMS);
         Long ver = JwtClaimUtils.claimAsLong(jwt, SecurityClaims.VER);
         Long isAdminLong = JwtClaimUtils.claimAsLong(jwt, SecurityClaims.IS_ADMIN);
         boolean isAdmin = isAdminLong != null && isAdminLong == 1L;
         return new UserPrincipal(uid, uname, roleIds, perms, ver, isAdmin);
     }
-}
\ No newline at end of file
+
+    /**
+     * 令牌权限集合：perms 声明直接读取；压缩的 pbits 声明已在认证时解码为权限，从当前认证的权限集合中取出
+     * @param jwt JWT令牌
+     * @return 权限集合
+     */
+    private static Set<String> permissionsOf(Jwt jwt) {
+        if (!jwt.hasClaim(SecurityClaims.PERM_BITS)) {
+            return JwtClaimUtils.claimAsStringSet(jwt, SecurityClaims.PERMS);
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth instanceof PrincipalAuthenticationToken token && token.getPrincipal() == jwt
+                && token.getUserPrincipal() != null) {
+            return token.getUserPrincipal().getPermissions();
+        }
+        Set<String> perms = new LinkedHashSet<>();
+        if (auth != null && auth.getPrincipal() == jwt) {
+            for (GrantedAuthority authority : auth.getAuthorities()) {
+                String name = authority.getAuthority();
+                if (name != null && !name.startsWith(Roles.PREFIX)) {
+                    perms.add(name);
+                }
+            }
+        }
+        return perms;
+    }
+
+    /**
+     * 当前请求认证阶段构建的用户主体
+     * @return 用户主体，认证令牌不是 PrincipalAuthenticationToken 时为 null
+     */
+    private static UserPrincipal memoizedPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth instanceof PrincipalAuthenticationToken token ? token.getUserPrincipal() : null;
+    }
+}
@@ -1,5 +1,6 @@
 package dev.tagtag.framework.security.filter;
 
+import dev.tagtag.framework.security.util.PermitPathMatcher;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
@@ -11,10 +12,17 @@ import java.util.List;
 @Slf4j
 public class CustomBearerTokenResolver implements BearerTokenResolver {
 
-    private final List<String> permitPaths;
+    private final PermitPathMatcher permitPathMatcher;
 
     public CustomBearerTokenResolver(List<String> permitPaths) {
-        this.permitPaths = permitPaths;
+        this(PermitPathMatcher.compile(permitPaths));
+    }
+
+    /**
+     * @param permitPathMatcher 已编译的公开路径匹配器（与 SecurityConfig 共用）
+     */
+    public CustomBearerTokenResolver(PermitPathMatcher permitPathMatcher) {
+        this.permitPathMatcher = permitPathMatcher;
     }
 
     @Override
@@ -25,11 +33,8 @@ public class CustomBearerTokenResolver implements BearerTokenResolver {
         }
 
         // 对于公开路径，直接返回 null（允许访问）
-        String requestPath = request.getRequestURI();
-        for (String permitPath : permitPaths) {
-            if (matchesPath(requestPath, permitPath)) {
-                return null;
-            }
+        if (permitPathMatcher.matches(request)) {
+            return null;
         }
 
         // 从请求头中获取 Bearer 令牌
@@ -46,20 +51,4 @@ public class CustomBearerTokenResolver implements BearerTokenResolver {
 
         return null;
     }
-
-    private boolean matchesPath(String requestPath, String pattern) {
-        // 简单的路径匹配实现，支持 ** 通配符
-        if (pattern.equals(requestPath) || pattern.equals("/**")) {
-            return true;
-        }
-        if (pattern.endsWith("/**")) {
-            String prefix = pattern.substring(0, pattern.length() - 3);
-            return requestPath.startsWith(prefix);
-        }
-        if (pattern.endsWith("/*")) {
-            String prefix = pattern.substring(0, pattern.length() - 2);
-            return requestPath.startsWith(prefix) && requestPath.indexOf('/', prefix.length() + 1) == -1;
-        }
-        return requestPath.equals(pattern);
-    }
 }
@@ -1,6 +1,7 @@
 package dev.tagtag.framework.security.filter;
 
 import dev.tagtag.kernel.constant.SecurityClaims;
+import dev.tagtag.framework.security.service.JtiRevocationList;
 import dev.tagtag.framework.security.service.TokenVersionService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -21,9 +22,11 @@ import java.io.IOException;
 public class TokenVersionFilter extends OncePerRequestFilter {
 
     private final TokenVersionService tokenVersionService;
+    private final JtiRevocationList jtiRevocationList;
 
-    public TokenVersionFilter(TokenVersionService tokenVersionService) {
+    public TokenVersionFilter(TokenVersionService tokenVersionService, JtiRevocationList jtiRevocationList) {
         this.tokenVersionService = tokenVersionService;
+        this.jtiRevocationList = jtiRevocationList;
     }
 
     @Override
@@ -36,12 +39,18 @@ public class TokenVersionFilter extends OncePerRequestFilter {
             Long tokenVersion = extractTokenVersion(jwt);
             
             if (userId != null && tokenVersion != null) {
-                if (!tokenVersionService.isTokenVersionValid(userId, tokenVersion)) {
+                long currentVersion = tokenVersionService.getCurrentVersion(userId);
+                if (tokenVersion != currentVersion) {
                     log.warn("Token version mismatch for user {}: token version={}, current version={}", 
-                            userId, tokenVersion, tokenVersionService.getCurrentVersion(userId));
+                            userId, tokenVersion, currentVersion);
                     SecurityContextHolder.clearContext();
                 }
             }
+            if (SecurityContextHolder.getContext().getAuthentication() != null
+                    && jtiRevocationList.isRevoked(jwt.getId(), jwt.getExpiresAt())) {
+                log.warn("Revoked token used: uid={}, jti={}", userId, jwt.getId());
+                SecurityContextHolder.clearContext();
+            }
         }
         
         filterChain.doFilter(request, response);
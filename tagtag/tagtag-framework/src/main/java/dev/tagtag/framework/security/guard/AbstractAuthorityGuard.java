@@ -6,8 +6,14 @@ import dev.tagtag.framework.security.util.SecurityUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.springframework.security.access.AccessDeniedException;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public abstract class AbstractAuthorityGuard {
 
+    /** 注解实例 → 所需权限名，避免每次校验拼接字符串 */
+    private final Map<Object, String> requiredAuthorities = new ConcurrentHashMap<>();
+
     protected abstract String getRequiredAuthority(Object annotation);
 
     protected abstract String getAuthorityType();
@@ -19,7 +25,11 @@ public abstract class AbstractAuthorityGuard {
             return pjp.proceed();
         }
 
-        String required = getRequiredAuthority(annotation);
+        String required = requiredAuthorities.get(annotation);
+        if (required == null) {
+            required = getRequiredAuthority(annotation);
+            requiredAuthorities.put(annotation, required);
+        }
         if (!SecurityUtils.hasAuthority(required)) {
             throw new AccessDeniedException(getAuthorityType() + "不足: " + required);
         }
@@ -0,0 +1,54 @@
+package dev.tagtag.framework.security.model;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 携带用户主体的 JWT 认证令牌：认证时构建一次 UserPrincipal 与权限名集合，请求内复用
+ * getPrincipal() 仍返回 Jwt，与 JwtAuthenticationToken 行为一致
+ */
+public class PrincipalAuthenticationToken extends JwtAuthenticationToken {
+
+    private final transient UserPrincipal userPrincipal;
+    private final Set<String> authorityNames;
+
+    /**
+     * 构造函数
+     * @param jwt 已验签的令牌
+     * @param authorities 权限集合
+     * @param userPrincipal 用户主体
+     */
+    public PrincipalAuthenticationToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities, UserPrincipal userPrincipal) {
+        super(jwt, authorities, jwt.getSubject());
+        this.userPrincipal = userPrincipal;
+        Set<String> names = new HashSet<>();
+        for (GrantedAuthority authority : authorities) {
+            if (authority != null && authority.getAuthority() != null) {
+                names.add(authority.getAuthority());
+            }
+        }
+        this.authorityNames = Set.copyOf(names);
+    }
+
+    /**
+     * 认证时构建的用户主体
+     * @return 用户主体
+     */
+    public UserPrincipal getUserPrincipal() {
+        return userPrincipal;
+    }
+
+    /**
+     * 是否具有指定权限（哈希查找，不分配对象）
+     * @param authority 权限名
+     * @return 是否具有
+     */
+    public boolean hasAuthority(String authority) {
+        return authority != null && authorityNames.contains(authority);
+    }
+}
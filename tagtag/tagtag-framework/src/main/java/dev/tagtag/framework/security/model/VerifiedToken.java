@@ -0,0 +1,61 @@
+package dev.tagtag.framework.security.model;
+
+import com.nimbusds.jwt.JWTClaimNames;
+import com.nimbusds.jwt.JWTClaimsSet;
+import dev.tagtag.kernel.constant.SecurityClaims;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 已验签且未过期的令牌：一次解析得到的声明及常用字段
+ */
+@Getter
+public class VerifiedToken {
+
+    /** 由签发方生成的标准声明，换发令牌时不沿用 */
+    private static final Set<String> REGISTERED_CLAIMS = Set.of(
+            JWTClaimNames.ISSUER, JWTClaimNames.SUBJECT, JWTClaimNames.AUDIENCE, JWTClaimNames.EXPIRATION_TIME,
+            JWTClaimNames.NOT_BEFORE, JWTClaimNames.ISSUED_AT, JWTClaimNames.JWT_ID);
+
+    private final String subject;
+    private final Long uid;
+    private final Long version;
+    private final String type;
+    private final String jti;
+    private final Instant expiresAt;
+    private final Map<String, Object> claims;
+
+    public VerifiedToken(JWTClaimsSet claimsSet) {
+        this.subject = claimsSet.getSubject();
+        this.claims = Collections.unmodifiableMap(claimsSet.getClaims());
+        this.uid = toLong(claims.get(SecurityClaims.UID));
+        this.version = toLong(claims.get(SecurityClaims.VER));
+        Object typ = claims.get(SecurityClaims.TYP);
+        this.type = typ == null ? null : typ.toString();
+        this.jti = claimsSet.getJWTID();
+        this.expiresAt = claimsSet.getExpirationTime() == null ? null : claimsSet.getExpirationTime().toInstant();
+    }
+
+    /**
+     * 业务声明副本（去掉 iss/sub/aud/exp/nbf/iat/jti），用于换发新令牌
+     * @return 可修改的声明映射
+     */
+    public Map<String, Object> customClaims() {
+        Map<String, Object> copy = new HashMap<>(claims);
+        copy.keySet().removeAll(REGISTERED_CLAIMS);
+        return copy;
+    }
+
+    private static Long toLong(Object v) {
+        if (v instanceof Number n) return n.longValue();
+        if (v instanceof String s) {
+            try { return Long.parseLong(s.trim()); } catch (NumberFormatException ignore) {}
+        }
+        return null;
+    }
+}
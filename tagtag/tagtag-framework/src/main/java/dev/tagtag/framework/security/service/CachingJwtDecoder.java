@@ -0,0 +1,116 @@
+package dev.tagtag.framework.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 已验签 JWT 缓存：同一访问令牌在有效期内重复请求时复用解码结果，跳过签名验证
+ * 键为原始令牌的 SHA-256 摘要；条目在 exp 之前提前 margin 过期，命中时再次比对 exp，过期检查不弱于原解码器。
+ * 解码失败不缓存，异常原样抛出。
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final String CACHE_NAME = "jwtDecoder";
+
+    private final JwtDecoder delegate;
+    private final Duration margin;
+    private final Cache<ByteBuffer, Jwt> cache;
+
+    /**
+     * 构造函数
+     * @param delegate 实际验签的解码器
+     * @param maxSize 最大缓存令牌数
+     * @param margin 距 exp 不足该时长的令牌不再命中缓存
+     * @param meterRegistry 指标注册表（可为空，非空时以 cache=jwtDecoder 发布命中率等指标）
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration margin, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.margin = margin == null ? Duration.ZERO : margin;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilExpiry())
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null) {
+            return delegate.decode(null);
+        }
+        ByteBuffer key = digest(token);
+        Jwt cached = cache.getIfPresent(key);
+        if (cached != null && isFresh(cached, Instant.now())) {
+            return cached;
+        }
+        Jwt jwt = delegate.decode(token);
+        if (isFresh(jwt, Instant.now())) {
+            cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    /**
+     * 清空缓存（签名密钥被移除时调用）
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 只缓存带 exp 且距过期不少于 margin 的令牌
+     */
+    private boolean isFresh(Jwt jwt, Instant now) {
+        Instant exp = jwt.getExpiresAt();
+        return exp != null && now.plus(margin).isBefore(exp);
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 条目存活到 exp - margin
+     */
+    private final class UntilExpiry implements Expiry<ByteBuffer, Jwt> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Jwt jwt, long currentTime) {
+            Instant exp = jwt.getExpiresAt();
+            if (exp == null) {
+                return 0L;
+            }
+            return Math.max(0L, Duration.between(Instant.now(), exp.minus(margin)).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
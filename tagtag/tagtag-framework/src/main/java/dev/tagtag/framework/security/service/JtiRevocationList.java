@@ -0,0 +1,356 @@
+package dev.tagtag.framework.security.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.config.SecurityProperties;
+import dev.tagtag.kernel.constant.SecurityConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 按 jti 的令牌吊销列表（单会话注销）
+ * 吊销记录按令牌过期时间分桶，每个桶是一个布隆过滤器：桶内令牌全部过期后整桶丢弃，占用空间只与剩余有效期内的吊销数有关。
+ * Redis 以位图保存各桶（SETBIT，过期时间为桶结束时刻），本节点持有位图的本地副本：
+ * 吊销时经 Pub/Sub 通知所有节点置位，并按间隔从 Redis 合并以兜底丢失的消息；
+ * 校验只查本地副本，O(k) 且不访问网络：访问令牌有效期内会用到的桶由后台线程预先加载，请求路径不读 Redis。
+ * 布隆过滤器存在极小的误判率（未吊销的令牌被判为已吊销），表现为该会话需重新登录。
+ * 一次性令牌（刷新令牌）另以 SET NX 标记消费，检查与吊销为同一条原子命令，并发刷新只有一个成功。
+ */
+@Slf4j
+@Service
+public class JtiRevocationList implements MessageListener, SmartLifecycle {
+
+    private static final byte[] CONSUMED = {'1'};
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long bucketMillis;
+    private final long syncIntervalMillis;
+    private final long accessTtlMillis;
+    private final int bits;
+    private final int hashes;
+    private final LoadingCache<Long, BloomBucket> buckets;
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 构造函数：按配置计算位图大小与哈希次数，并订阅吊销频道
+     * @param stringRedisTemplate Redis 模板
+     * @param objectMapper 消息序列化
+     * @param redisMessageListenerContainer 消息订阅容器
+     * @param securityProperties 安全配置（security.revocation.*）
+     * @param jwtProperties JWT 配置（访问令牌有效期决定预加载的桶范围）
+     */
+    public JtiRevocationList(StringRedisTemplate stringRedisTemplate,
+                             ObjectMapper objectMapper,
+                             RedisMessageListenerContainer redisMessageListenerContainer,
+                             SecurityProperties securityProperties,
+                             JwtProperties jwtProperties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        SecurityProperties.Revocation config = securityProperties.getRevocation();
+        this.enabled = config.isEnabled();
+        this.bucketMillis = config.getBucketWidth().toMillis();
+        this.syncIntervalMillis = config.getSyncInterval().toMillis();
+        this.accessTtlMillis = Duration.ofSeconds(jwtProperties.getAccessTtlSeconds()).toMillis();
+        long n = Math.max(1L, config.getExpectedPerBucket());
+        double p = config.getFalsePositiveRate();
+        // m = -n·ln(p) / (ln2)²，k = m/n·ln2
+        this.bits = (int) Math.min(Integer.MAX_VALUE - 63L, Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2))));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(config.getMaxBuckets())
+                .expireAfterAccess(config.getBucketWidth())
+                .refreshAfterWrite(config.getSyncInterval())
+                .build(new CacheLoader<>() {
+                    @Override
+                    public BloomBucket load(Long bucket) {
+                        return loadBucket(bucket);
+                    }
+
+                    @Override
+                    public BloomBucket reload(Long bucket, BloomBucket old) {
+                        BloomBucket fresh = loadBucket(bucket);
+                        fresh.merge(old);
+                        return fresh;
+                    }
+                });
+        if (enabled) {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(SecurityConstants.TOKEN_REVOKED_CHANNEL));
+        }
+    }
+
+    /**
+     * 吊销单个令牌：写入 Redis 位图、本地副本并通知其他节点
+     * @param jti 令牌 ID
+     * @param expiresAt 令牌过期时间（决定所在的桶与位图过期时间）
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        if (!enabled || jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        long bucket = bucketOf(expiresAt);
+        long[] offsets = offsets(jti);
+        byte[] rawKey = key(bucket).getBytes(StandardCharsets.UTF_8);
+        long expireAt = (bucket + 1) * bucketMillis;
+        byte[] consumedKey = (SecurityConstants.TOKEN_CONSUMED_KEY_PREFIX + jti).getBytes(StandardCharsets.UTF_8);
+        long ttlMillis = expiresAt.toEpochMilli() - System.currentTimeMillis();
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (long offset : offsets) {
+                connection.stringCommands().setBit(rawKey, offset, true);
+            }
+            connection.keyCommands().pExpireAt(rawKey, expireAt);
+            // 同时标记为已消费：吊销后的一次性令牌在其他节点收到通知之前也无法再被消费
+            if (ttlMillis > 0) {
+                connection.stringCommands().set(consumedKey, CONSUMED, Expiration.milliseconds(ttlMillis),
+                        RedisStringCommands.SetOption.upsert());
+            }
+            return null;
+        });
+        buckets.get(bucket).set(offsets);
+        try {
+            stringRedisTemplate.convertAndSend(SecurityConstants.TOKEN_REVOKED_CHANNEL,
+                    objectMapper.writeValueAsString(new RevocationMessage(jti, expiresAt.toEpochMilli())));
+        } catch (Exception e) {
+            log.warn("Failed to publish token revocation: jti={}", jti, e);
+        }
+    }
+
+    /**
+     * 消费一次性令牌：以 SET NX 原子地完成“检查未用过并标记已用”，随后吊销其 jti
+     * 并发使用同一令牌时只有一个调用返回 true；令牌已过期、已消费或已吊销（含本地副本判定）时返回 false
+     * @param jti 令牌 ID
+     * @param expiresAt 令牌过期时间（标记随之过期）
+     * @return 是否由本次调用消费成功
+     */
+    public boolean consume(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return false;
+        }
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero() || isRevoked(jti, expiresAt)) {
+            return false;
+        }
+        Boolean first = stringRedisTemplate.opsForValue().setIfAbsent(SecurityConstants.TOKEN_CONSUMED_KEY_PREFIX + jti, "1", ttl);
+        if (!Boolean.TRUE.equals(first)) {
+            return false;
+        }
+        revoke(jti, expiresAt);
+        return true;
+    }
+
+    /**
+     * 令牌是否已吊销（只查本地副本）
+     * @param jti 令牌 ID（为空时视为未吊销）
+     * @param expiresAt 令牌过期时间
+     * @return 是否已吊销（存在极小误判率）
+     */
+    public boolean isRevoked(String jti, Instant expiresAt) {
+        if (!enabled || jti == null || expiresAt == null) {
+            return false;
+        }
+        return buckets.get(bucketOf(expiresAt)).containsAll(offsets(jti));
+    }
+
+    /**
+     * 接收其他节点的吊销通知
+     * @param message 消息
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            RevocationMessage msg = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), RevocationMessage.class);
+            if (msg != null && msg.jti() != null) {
+                buckets.get(bucketOf(Instant.ofEpochMilli(msg.exp()))).set(offsets(msg.jti()));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to handle token revocation message", e);
+        }
+    }
+
+    /**
+     * 预加载访问令牌有效期内会用到的桶（后台线程执行）：已加载的桶仅刷新访问时间，由 refreshAfterWrite 负责与 Redis 合并
+     */
+    void preload() {
+        long now = System.currentTimeMillis();
+        long last = Math.floorDiv(now + accessTtlMillis, bucketMillis);
+        for (long bucket = Math.floorDiv(now, bucketMillis); bucket <= last; bucket++) {
+            buckets.get(bucket);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled) {
+            return;
+        }
+        preload();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jti-revocation-preload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1000L, syncIntervalMillis);
+        scheduler.scheduleWithFixedDelay(this::preload, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private long bucketOf(Instant expiresAt) {
+        return Math.floorDiv(expiresAt.toEpochMilli(), bucketMillis);
+    }
+
+    /**
+     * 位图键包含位数与哈希次数，配置变化后新旧节点不会读写同一位图
+     */
+    private String key(long bucket) {
+        return SecurityConstants.TOKEN_REVOKED_KEY_PREFIX + bits + "x" + hashes + ":" + bucket;
+    }
+
+    /**
+     * 从 Redis 读取桶位图；读取失败时返回空桶（下次同步时再合并）
+     */
+    private BloomBucket loadBucket(long bucket) {
+        BloomBucket local = new BloomBucket(bits);
+        try {
+            byte[] rawKey = key(bucket).getBytes(StandardCharsets.UTF_8);
+            byte[] raw = stringRedisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey));
+            if (raw != null) {
+                local.loadRedisBitmap(raw);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to load revocation bucket: bucket={}", bucket, e);
+        }
+        return local;
+    }
+
+    /**
+     * 双重哈希：offset_i = (h1 + i·h2) mod m
+     */
+    private long[] offsets(String jti) {
+        long h1 = mix64(fnv1a64(jti));
+        long h2 = mix64(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        long[] offsets = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            offsets[i] = Math.floorMod(h1 + i * h2, (long) bits);
+        }
+        return offsets;
+    }
+
+    private static long fnv1a64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 单个桶的本地位图副本（可并发置位与读取）
+     */
+    static final class BloomBucket {
+
+        private final AtomicLongArray words;
+
+        BloomBucket(int bits) {
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+        }
+
+        void set(long[] offsets) {
+            for (long offset : offsets) {
+                int index = (int) (offset >>> 6);
+                long mask = 1L << (offset & 63);
+                long prev;
+                do {
+                    prev = words.get(index);
+                } while ((prev & mask) == 0 && !words.compareAndSet(index, prev, prev | mask));
+            }
+        }
+
+        boolean containsAll(long[] offsets) {
+            for (long offset : offsets) {
+                if ((words.get((int) (offset >>> 6)) & (1L << (offset & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void merge(BloomBucket other) {
+            int n = Math.min(words.length(), other.words.length());
+            for (int i = 0; i < n; i++) {
+                long bitsToAdd = other.words.get(i);
+                if (bitsToAdd != 0) {
+                    words.getAndAccumulate(i, bitsToAdd, (a, b) -> a | b);
+                }
+            }
+        }
+
+        /**
+         * Redis 位图按字节从高位到低位编号：偏移 i 位于第 i/8 字节的第 7 - i%8 位
+         */
+        void loadRedisBitmap(byte[] raw) {
+            long max = (long) words.length() << 6;
+            for (int b = 0; b < raw.length; b++) {
+                int v = raw[b] & 0xFF;
+                while (v != 0) {
+                    int bit = Integer.numberOfLeadingZeros(v) - 24;
+                    long offset = ((long) b << 3) + bit;
+                    if (offset < max) {
+                        set(new long[]{offset});
+                    }
+                    v &= ~(0x80 >>> bit);
+                }
+            }
+        }
+    }
+
+    /**
+     * 吊销消息体
+     * @param jti 令牌 ID
+     * @param exp 令牌过期时间（毫秒）
+     */
+    record RevocationMessage(String jti, long exp) {}
+}
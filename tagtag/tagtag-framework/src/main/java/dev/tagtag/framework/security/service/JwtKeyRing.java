@@ -0,0 +1,386 @@
+package dev.tagtag.framework.security.service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.SignedJWT;
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.util.Ed25519JwsSigner;
+import dev.tagtag.framework.security.util.Ed25519JwsVerifier;
+import dev.tagtag.framework.security.util.JwtKeyUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按 kid 索引的签名密钥环（jwt.keys / jwt.jwks-path）
+ * 新令牌用当前密钥签名并写入 kid 头；验签按 kid 直接取预先构建好的验签器，不必每次解析密钥。
+ * 密钥来自配置（jwt.keys，启动时绑定一次）与本地 JWKS 文件（文件变化后自动重新加载）。
+ * 退役以声明方式保留在密钥来源中：带 not-after（JWKS 为 exp）的条目仅用于验签，到期后移除，
+ * 因此重启或新扩容的节点与其他节点对退役密钥的判断一致；直接从来源中删除的 kid 立即失效。
+ * 未配置 keys 与 jwks-path 时不启用，沿用单密钥策略。
+ */
+@Slf4j
+@Component
+public class JwtKeyRing implements SmartLifecycle {
+
+    /** Ed25519 公钥 X.509 编码前缀（后接 32 字节公钥） */
+    private static final byte[] ED25519_X509_PREFIX = {0x30, 0x2a, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x70, 0x03, 0x21, 0x00};
+    /** Ed25519 私钥 PKCS#8 编码前缀（后接 32 字节私钥） */
+    private static final byte[] ED25519_PKCS8_PREFIX = {0x30, 0x2e, 0x02, 0x01, 0x00, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x70, 0x04, 0x22, 0x04, 0x20};
+
+    private final JwtProperties jwtProperties;
+    private final List<Runnable> removalListeners = new CopyOnWriteArrayList<>();
+    /** jwt.keys 中的密钥（启动时解析一次） */
+    private final Map<String, KeyEntry> configured = new LinkedHashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile long jwksModified;
+    private ScheduledExecutorService reloader;
+    private volatile boolean running;
+
+    /**
+     * 构造函数：启用时立即加载一次，密钥无效则启动失败
+     * @param jwtProperties JWT 配置
+     */
+    public JwtKeyRing(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        if (isEnabled()) {
+            try {
+                for (JwtProperties.Key key : jwtProperties.getKeys() == null ? List.<JwtProperties.Key>of() : jwtProperties.getKeys()) {
+                    KeyEntry entry = fromConfig(key);
+                    configured.put(entry.kid(), entry);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to load JWT keys", e);
+            }
+            reload();
+            if (snapshot.active() == null) {
+                throw new IllegalStateException("No JWT signing key available in jwt.keys / jwt.jwks-path");
+            }
+        }
+    }
+
+    /**
+     * 是否启用多密钥（配置了 jwt.keys 或 jwt.jwks-path）
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return (jwtProperties.getKeys() != null && !jwtProperties.getKeys().isEmpty())
+                || (jwtProperties.getJwksPath() != null && !jwtProperties.getJwksPath().isBlank());
+    }
+
+    /**
+     * 当前签名密钥
+     * @return 密钥条目
+     */
+    public KeyEntry activeKey() {
+        return snapshot.active();
+    }
+
+    /**
+     * 按 kid 取签名密钥（须带私钥）
+     * @param kid 密钥 ID
+     * @return 密钥条目
+     */
+    public KeyEntry signingKey(String kid) {
+        KeyEntry entry = kid == null ? null : snapshot.keys().get(kid);
+        if (entry == null || entry.signer() == null) {
+            throw new IllegalStateException("No JWT signing key for kid " + kid);
+        }
+        return entry;
+    }
+
+    /**
+     * 验签：有 kid 时只用对应验签器；无 kid（启用轮换前签发）时依次尝试同算法的密钥
+     * @param jwt 已解析的令牌
+     * @return 签名是否有效
+     */
+    public boolean verify(SignedJWT jwt) throws JOSEException {
+        JWSHeader header = jwt.getHeader();
+        Snapshot current = snapshot;
+        String kid = header.getKeyID();
+        if (kid != null) {
+            KeyEntry entry = current.keys().get(kid);
+            return entry != null && entry.algorithm().equals(header.getAlgorithm()) && jwt.verify(entry.verifier());
+        }
+        for (KeyEntry entry : current.keys().values()) {
+            if (entry.algorithm().equals(header.getAlgorithm()) && jwt.verify(entry.verifier())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 注册回调：有密钥被移除（到期或从来源中删除）时触发，用于清理已验签令牌缓存
+     * @param listener 回调
+     */
+    public void onKeysRemoved(Runnable listener) {
+        removalListeners.add(listener);
+    }
+
+    /**
+     * 重新读取 JWKS 文件并与 jwt.keys 合并；加载失败或结果为空时保留当前密钥
+     */
+    public synchronized void reload() {
+        Map<String, KeyEntry> loaded = new LinkedHashMap<>(configured);
+        try {
+            String jwksPath = jwtProperties.getJwksPath();
+            if (jwksPath != null && !jwksPath.isBlank()) {
+                Path path = Path.of(jwksPath);
+                jwksModified = Files.getLastModifiedTime(path).toMillis();
+                for (JWK jwk : JWKSet.load(new File(jwksPath)).getKeys()) {
+                    KeyEntry entry = fromJwk(jwk);
+                    if (entry != null) {
+                        loaded.put(entry.kid(), entry);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            if (snapshot == Snapshot.EMPTY) {
+                throw new IllegalStateException("Failed to load JWT keys", e);
+            }
+            log.error("Failed to reload JWT keys, keeping current keys", e);
+            return;
+        }
+        if (loaded.isEmpty()) {
+            log.warn("No JWT keys loaded, keeping current keys");
+            return;
+        }
+        for (KeyEntry previous : snapshot.keys().values()) {
+            if (!loaded.containsKey(previous.kid())) {
+                log.warn("JWT key removed without not-after, tokens signed by it are no longer accepted: kid={}", previous.kid());
+            }
+        }
+        publish(loaded, Instant.now());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        String jwksPath = jwtProperties.getJwksPath();
+        Duration interval = jwtProperties.getReloadInterval();
+        if (!isEnabled() || interval == null || interval.isZero() || interval.isNegative()) {
+            return;
+        }
+        reloader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jwt-key-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        reloader.scheduleWithFixedDelay(() -> {
+            try {
+                if (jwksPath != null && !jwksPath.isBlank()
+                        && Files.getLastModifiedTime(Path.of(jwksPath)).toMillis() != jwksModified) {
+                    reload();
+                } else {
+                    expire();
+                }
+            } catch (Exception e) {
+                log.warn("JWT key reload check failed", e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (reloader != null) {
+            reloader.shutdownNow();
+            reloader = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 已过 not-after 的密钥从验签集合中移除
+     */
+    private synchronized void expire() {
+        Instant now = Instant.now();
+        if (snapshot.keys().values().stream().anyMatch(e -> e.isExpired(now))) {
+            publish(snapshot.keys(), now);
+        }
+    }
+
+    /**
+     * 剔除已过 not-after 的密钥，选出签名密钥并发布快照
+     */
+    private void publish(Map<String, KeyEntry> keys, Instant now) {
+        Map<String, KeyEntry> valid = new LinkedHashMap<>(keys);
+        valid.values().removeIf(e -> e.isExpired(now));
+        KeyEntry active = selectActive(valid);
+        if (active == null) {
+            log.error("No JWT signing key among {}, keeping current keys", valid.keySet());
+            return;
+        }
+        Snapshot previous = snapshot;
+        snapshot = new Snapshot(active, Collections.unmodifiableMap(valid));
+        if (previous.active() == null || !previous.active().kid().equals(active.kid())
+                || !previous.keys().keySet().equals(valid.keySet())) {
+            log.info("JWT keys loaded: active={}, keys={}", active.kid(), valid.keySet());
+        }
+        if (previous.keys().keySet().stream().anyMatch(kid -> !valid.containsKey(kid))) {
+            removalListeners.forEach(Runnable::run);
+        }
+    }
+
+    private KeyEntry selectActive(Map<String, KeyEntry> keys) {
+        String activeKid = jwtProperties.getActiveKid();
+        if (activeKid != null && !activeKid.isBlank()) {
+            KeyEntry entry = keys.get(activeKid);
+            return entry != null && entry.signer() != null ? entry : null;
+        }
+        return keys.values().stream().filter(e -> e.signer() != null).findFirst().orElse(null);
+    }
+
+    private static KeyEntry fromConfig(JwtProperties.Key key) throws JOSEException {
+        if (key.getKid() == null || key.getKid().isBlank()) {
+            throw new IllegalStateException("jwt.keys[*].kid is required");
+        }
+        String kid = key.getKid();
+        Instant notAfter = key.getNotAfter();
+        JWSAlgorithm alg = key.getAlgorithm() != null && !key.getAlgorithm().isBlank()
+                ? JWSAlgorithm.parse(key.getAlgorithm().trim())
+                : hasText(key.getSecret()) ? JWSAlgorithm.HS256 : JWSAlgorithm.RS256;
+        if (JWSAlgorithm.HS256.equals(alg)) {
+            byte[] secret = key.getSecret().getBytes(StandardCharsets.UTF_8);
+            return new KeyEntry(kid, alg, notAfter == null ? new MACSigner(secret) : null, new MACVerifier(secret), notAfter);
+        }
+        String keyAlgorithm = keyAlgorithm(alg);
+        JWSSigner signer = null;
+        if (notAfter == null && hasText(key.getPrivateKeyPem())) {
+            var privateKey = JwtKeyUtils.loadPrivateKey(key.getPrivateKeyPem(), keyAlgorithm);
+            signer = switch (keyAlgorithm) {
+                case "RSA" -> new RSASSASigner((RSAPrivateKey) privateKey);
+                case JwtKeyUtils.EC_ALGORITHM -> new ECDSASigner((ECPrivateKey) privateKey);
+                default -> new Ed25519JwsSigner(privateKey);
+            };
+        }
+        var publicKey = JwtKeyUtils.loadPublicKey(key.getPublicKeyPem(), keyAlgorithm);
+        JWSVerifier verifier = switch (keyAlgorithm) {
+            case "RSA" -> new RSASSAVerifier((RSAPublicKey) publicKey);
+            case JwtKeyUtils.EC_ALGORITHM -> new ECDSAVerifier((ECPublicKey) publicKey);
+            default -> new Ed25519JwsVerifier(publicKey);
+        };
+        return new KeyEntry(kid, alg, signer, verifier, notAfter);
+    }
+
+    /**
+     * JWK 转换为密钥条目（exp 即 not-after，带 exp 的密钥仅用于验签）；非签名用途或不支持的密钥返回 null
+     */
+    private static KeyEntry fromJwk(JWK jwk) throws Exception {
+        if (jwk.getKeyID() == null || (jwk.getKeyUse() != null && !KeyUse.SIGNATURE.equals(jwk.getKeyUse()))) {
+            return null;
+        }
+        String kid = jwk.getKeyID();
+        Instant notAfter = jwk.getExpirationTime() == null ? null : jwk.getExpirationTime().toInstant();
+        boolean signing = notAfter == null && jwk.isPrivate();
+        if (jwk instanceof RSAKey rsa) {
+            return new KeyEntry(kid, jwsAlgorithm(jwk, JWSAlgorithm.RS256),
+                    signing ? new RSASSASigner(rsa) : null, new RSASSAVerifier(rsa), notAfter);
+        }
+        if (jwk instanceof ECKey ec && Curve.P_256.equals(ec.getCurve())) {
+            return new KeyEntry(kid, JWSAlgorithm.ES256,
+                    signing ? new ECDSASigner(ec) : null, new ECDSAVerifier(ec), notAfter);
+        }
+        if (jwk instanceof OctetKeyPair okp && Curve.Ed25519.equals(okp.getCurve())) {
+            KeyFactory factory = KeyFactory.getInstance(JwtKeyUtils.ED25519_ALGORITHM);
+            JWSSigner signer = signing
+                    ? new Ed25519JwsSigner(factory.generatePrivate(new PKCS8EncodedKeySpec(concat(ED25519_PKCS8_PREFIX, okp.getDecodedD()))))
+                    : null;
+            JWSVerifier verifier = new Ed25519JwsVerifier(
+                    factory.generatePublic(new X509EncodedKeySpec(concat(ED25519_X509_PREFIX, okp.getDecodedX()))));
+            return new KeyEntry(kid, JWSAlgorithm.EdDSA, signer, verifier, notAfter);
+        }
+        if (jwk instanceof OctetSequenceKey oct) {
+            return new KeyEntry(kid, jwsAlgorithm(jwk, JWSAlgorithm.HS256),
+                    notAfter == null ? new MACSigner(oct) : null, new MACVerifier(oct), notAfter);
+        }
+        log.warn("Unsupported JWK ignored: kid={}, kty={}", kid, jwk.getKeyType());
+        return null;
+    }
+
+    private static JWSAlgorithm jwsAlgorithm(JWK jwk, JWSAlgorithm fallback) {
+        return jwk.getAlgorithm() == null ? fallback : JWSAlgorithm.parse(jwk.getAlgorithm().getName());
+    }
+
+    private static String keyAlgorithm(JWSAlgorithm alg) {
+        if (JWSAlgorithm.RS256.equals(alg)) return "RSA";
+        if (JWSAlgorithm.ES256.equals(alg)) return JwtKeyUtils.EC_ALGORITHM;
+        if (JWSAlgorithm.EdDSA.equals(alg)) return JwtKeyUtils.ED25519_ALGORITHM;
+        throw new IllegalStateException("Unsupported JWT key algorithm: " + alg);
+    }
+
+    private static byte[] concat(byte[] prefix, byte[] value) {
+        byte[] out = new byte[prefix.length + value.length];
+        System.arraycopy(prefix, 0, out, 0, prefix.length);
+        System.arraycopy(value, 0, out, prefix.length, value.length);
+        return out;
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+
+    /**
+     * 单个密钥：预先构建的签名器（仅验签的密钥为空）与验签器
+     * @param kid 密钥 ID
+     * @param algorithm 签名算法
+     * @param signer 签名器
+     * @param verifier 验签器
+     * @param notAfter 验签截止时间（为空表示不过期）
+     */
+    public record KeyEntry(String kid, JWSAlgorithm algorithm, JWSSigner signer, JWSVerifier verifier, Instant notAfter) {
+
+        boolean isExpired(Instant now) {
+            return notAfter != null && !notAfter.isAfter(now);
+        }
+    }
+
+    private record Snapshot(KeyEntry active, Map<String, KeyEntry> keys) {
+        static final Snapshot EMPTY = new Snapshot(null, Map.of());
+    }
+}
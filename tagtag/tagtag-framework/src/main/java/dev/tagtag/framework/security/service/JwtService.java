@@ -3,6 +3,7 @@ package dev.tagtag.framework.security.service;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.model.VerifiedToken;
 import dev.tagtag.framework.security.strategy.JwtSignerStrategy;
 import dev.tagtag.framework.security.strategy.impl.HmacJwtSignerStrategy;
 import dev.tagtag.framework.security.strategy.impl.RsaJwtSignerStrategy;
@@ -59,22 +60,38 @@ public class JwtService {
         }
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * 一次解析并验签令牌，返回声明与常用字段；签名无效、已过期或格式错误时返回 null
+     * @param token 令牌
+     * @return 已验证令牌或 null
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
         try {
             SignedJWT jwt = SignedJWT.parse(token);
 
             if (!signerStrategy.verify(jwt)) {
-                return false;
+                return null;
             }
 
-            Date exp = jwt.getJWTClaimsSet().getExpirationTime();
-            return exp != null && Instant.now().isBefore(exp.toInstant());
+            JWTClaimsSet claims = jwt.getJWTClaimsSet();
+            Date exp = claims.getExpirationTime();
+            if (exp == null || !Instant.now().isBefore(exp.toInstant())) {
+                return null;
+            }
+            return new VerifiedToken(claims);
         } catch (Exception e) {
             log.debug("Token validation failed", e);
-            return false;
+            return null;
         }
     }
 
+    public boolean validateToken(String token) {
+        return verify(token) != null;
+    }
+
     public String getSubject(String token) {
         try {
             SignedJWT jwt = SignedJWT.parse(token);
@@ -0,0 +1,232 @@
+package dev.tagtag.framework.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.tagtag.framework.config.SecurityProperties;
+import dev.tagtag.kernel.constant.SecurityConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 权限编码字典：把令牌中的权限编码列表压缩为位图（pbits 声明）
+ * 字典保存在 Redis（列表 + 编码→下标索引），只追加不删改，已分配的下标永久有效，旧令牌无需重新签发；
+ * 字典纪元（epoch）随字典一起创建并写入令牌，Redis 数据丢失后纪元变化，旧位图一律解码为空（需重新登录），不会映射到错误的权限。
+ * 本节点持有字典副本：编码时只为未知编码访问 Redis，解码遇到超出副本范围的下标才增量拉取；
+ * 已确认过期的纪元记在本地，纪元变更后旧令牌直接解码为空，不再逐个回源 Redis。
+ */
+@Slf4j
+@Service
+public class PermissionDictionary {
+
+    private static final String SEPARATOR = ".";
+    private static final int MAX_STALE_EPOCHS = 1024;
+
+    /** 脚本返回字符串列表；泛型类型无法写成类字面量，只在这里做一次未检查转换 */
+    @SuppressWarnings("unchecked")
+    private static final Class<List<String>> STRING_LIST = (Class<List<String>>) (Class<?>) List.class;
+
+    /**
+     * 为编码分配下标：KEYS[1]=字典列表，KEYS[2]=索引哈希，KEYS[3]=纪元；ARGV[1]=新纪元，ARGV[2..]=编码
+     * 纪元不存在时视为新字典（清空残留数据）；返回 [纪元, 下标...]
+     */
+    private static final RedisScript<List<String>> ASSIGN_SCRIPT = new DefaultRedisScript<>(
+            "local epoch = redis.call('GET', KEYS[3]) " +
+            "if not epoch then " +
+            "  redis.call('DEL', KEYS[1], KEYS[2]) " +
+            "  epoch = ARGV[1] " +
+            "  redis.call('SET', KEYS[3], epoch) " +
+            "end " +
+            "local out = {epoch} " +
+            "for i = 2, #ARGV do " +
+            "  local idx = redis.call('HGET', KEYS[2], ARGV[i]) " +
+            "  if not idx then " +
+            "    idx = redis.call('RPUSH', KEYS[1], ARGV[i]) - 1 " +
+            "    redis.call('HSET', KEYS[2], ARGV[i], idx) " +
+            "  end " +
+            "  out[i] = tostring(idx) " +
+            "end " +
+            "return out",
+            STRING_LIST);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean compact;
+    private volatile Local local = new Local(null, List.of(), Map.of());
+    /** 已被 Redis 中的当前纪元取代的纪元 */
+    private final Cache<String, Boolean> staleEpochs = Caffeine.newBuilder().maximumSize(MAX_STALE_EPOCHS).build();
+
+    /**
+     * 构造函数
+     * @param stringRedisTemplate Redis 模板
+     * @param securityProperties 安全配置（security.permission-claim.*）
+     */
+    public PermissionDictionary(StringRedisTemplate stringRedisTemplate, SecurityProperties securityProperties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.compact = securityProperties.getPermissionClaim().isCompact();
+    }
+
+    /**
+     * 是否以位图签发权限声明
+     * @return 是否启用
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * 权限编码集合编码为 pbits 声明值
+     * @param perms 权限编码
+     * @return 纪元.位图（base64url）
+     */
+    public String encode(Collection<String> perms) {
+        Local current = local;
+        List<String> unknown = new ArrayList<>();
+        for (String code : perms) {
+            if (!current.index().containsKey(code)) {
+                unknown.add(code);
+            }
+        }
+        if (current.epoch() == null || !unknown.isEmpty()) {
+            current = assign(unknown);
+        }
+        BitSet bits = new BitSet(current.codes().size());
+        for (String code : perms) {
+            Integer idx = current.index().get(code);
+            if (idx == null) {
+                throw new IllegalStateException("Permission code not in dictionary: " + code);
+            }
+            bits.set(idx);
+        }
+        return current.epoch() + SEPARATOR + Base64.getUrlEncoder().withoutPadding().encodeToString(bits.toByteArray());
+    }
+
+    /**
+     * pbits 声明值解码为权限编码集合；纪元不符或格式错误时返回空集合
+     * @param value 纪元.位图
+     * @return 权限编码
+     */
+    public Set<String> decode(String value) {
+        int sep = value == null ? -1 : value.indexOf(SEPARATOR);
+        if (sep <= 0) {
+            return Set.of();
+        }
+        String epoch = value.substring(0, sep);
+        BitSet bits;
+        try {
+            bits = BitSet.valueOf(Base64.getUrlDecoder().decode(value.substring(sep + 1)));
+        } catch (IllegalArgumentException e) {
+            return Set.of();
+        }
+        Local current = local;
+        if (!epoch.equals(current.epoch()) || bits.length() > current.codes().size()) {
+            if (staleEpochs.getIfPresent(epoch) != null) {
+                return Set.of();
+            }
+            Local refreshed = refresh();
+            current = refreshed == null ? local : refreshed;
+            if (!epoch.equals(current.epoch())) {
+                if (refreshed != null && staleEpochs.asMap().putIfAbsent(epoch, Boolean.TRUE) == null) {
+                    log.warn("Permission dictionary epoch mismatch: token={}, current={}", epoch, current.epoch());
+                }
+                return Set.of();
+            }
+        }
+        Set<String> perms = new LinkedHashSet<>(Math.max(16, bits.cardinality() * 2));
+        List<String> codes = current.codes();
+        for (int i = bits.nextSetBit(0); i >= 0 && i < codes.size(); i = bits.nextSetBit(i + 1)) {
+            perms.add(codes.get(i));
+        }
+        return perms;
+    }
+
+    /**
+     * 为未知编码分配下标，随后增量同步本地副本
+     */
+    private synchronized Local assign(List<String> unknown) {
+        List<String> args = new ArrayList<>(unknown.size() + 1);
+        args.add(UUID.randomUUID().toString().substring(0, 8));
+        args.addAll(unknown);
+        List<String> result = stringRedisTemplate.execute(ASSIGN_SCRIPT,
+                List.of(SecurityConstants.PERM_DICT_KEY, SecurityConstants.PERM_DICT_INDEX_KEY, SecurityConstants.PERM_DICT_EPOCH_KEY),
+                args.toArray());
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("Failed to assign permission dictionary entries");
+        }
+        switchEpoch(result.get(0));
+        return sync();
+    }
+
+    /**
+     * 从 Redis 同步本地副本（纪元变化时整体重载）
+     * @return 同步后的副本；Redis 中尚无字典或不可用时返回 null（保留现有副本）
+     */
+    private synchronized Local refresh() {
+        try {
+            String epoch = stringRedisTemplate.opsForValue().get(SecurityConstants.PERM_DICT_EPOCH_KEY);
+            if (epoch == null) {
+                return null;
+            }
+            switchEpoch(epoch);
+            return sync();
+        } catch (Exception e) {
+            log.warn("Failed to refresh permission dictionary", e);
+            return null;
+        }
+    }
+
+    /**
+     * 纪元变化时清空本地副本，并记下被取代的纪元
+     */
+    private void switchEpoch(String epoch) {
+        String previous = local.epoch();
+        if (!epoch.equals(previous)) {
+            if (previous != null) {
+                staleEpochs.put(previous, Boolean.TRUE);
+            }
+            staleEpochs.invalidate(epoch);
+            local = new Local(epoch, List.of(), Map.of());
+        }
+    }
+
+    /**
+     * 追加拉取本地副本之后的新条目
+     */
+    private Local sync() {
+        Local current = local;
+        List<String> appended = stringRedisTemplate.opsForList()
+                .range(SecurityConstants.PERM_DICT_KEY, current.codes().size(), -1);
+        if (appended == null || appended.isEmpty()) {
+            return current;
+        }
+        List<String> codes = new ArrayList<>(current.codes().size() + appended.size());
+        codes.addAll(current.codes());
+        codes.addAll(appended);
+        Map<String, Integer> index = new HashMap<>(current.index());
+        for (int i = current.codes().size(); i < codes.size(); i++) {
+            index.putIfAbsent(codes.get(i), i);
+        }
+        local = new Local(current.epoch(), List.copyOf(codes), Map.copyOf(index));
+        return local;
+    }
+
+    /**
+     * 本地字典副本（不可变，整体替换）
+     * @param epoch 纪元
+     * @param codes 下标→编码
+     * @param index 编码→下标
+     */
+    private record Local(String epoch, List<String> codes, Map<String, Integer> index) {}
+}
@@ -1,43 +1,74 @@
 package dev.tagtag.framework.security.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.tagtag.framework.config.SecurityProperties;
+import dev.tagtag.kernel.constant.SecurityConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * 使用 Redis 维护用户令牌版本（ver），用于服务端主动失效旧令牌。
  * 约定：默认版本为 1；当用户注销或被禁用时提升版本，旧版本令牌全部失效。
+ * 本节点按需缓存版本号，提升版本时经 Pub/Sub 通知所有节点，稳态请求不访问 Redis；
+ * 本地条目按间隔过期回源，兜底丢失的通知。版本号只由这一层本地缓存承载，token:ver: 前缀无需再登记 RESP3 近端缓存。
  */
+@Slf4j
 @Service
-public class TokenVersionService {
+public class TokenVersionService implements MessageListener {
 
     private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Long> localVersions;
 
     /**
-     * 构造函数：注入 Redis 模板
+     * 构造函数：注入 Redis 模板并订阅版本变更频道
      * @param stringRedisTemplate Redis 模板
+     * @param objectMapper 消息序列化
+     * @param redisMessageListenerContainer 消息订阅容器
+     * @param securityProperties 安全配置（本地缓存容量与过期时间）
      */
-    public TokenVersionService(StringRedisTemplate stringRedisTemplate) {
+    public TokenVersionService(StringRedisTemplate stringRedisTemplate,
+                               ObjectMapper objectMapper,
+                               RedisMessageListenerContainer redisMessageListenerContainer,
+                               SecurityProperties securityProperties) {
         this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        SecurityProperties.TokenVersion config = securityProperties.getTokenVersion();
+        this.localVersions = config.isLocalEnabled()
+                ? Caffeine.newBuilder().maximumSize(config.getLocalMaxSize()).expireAfterWrite(config.getLocalTtl()).build()
+                : null;
+        if (localVersions != null) {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(SecurityConstants.TOKEN_VERSION_CHANNEL));
+        }
     }
 
     /**
-     * 获取用户当前令牌版本（默认 1）
+     * 获取用户当前令牌版本（默认 1），本地命中时不访问 Redis
      * @param userId 用户 ID
      * @return 当前版本号
      */
     public long getCurrentVersion(Long userId) {
-        String key = buildKey(userId);
-        String val = stringRedisTemplate.opsForValue().get(key);
-        if (val == null) return 1L;
-        try {
-            return Long.parseLong(val);
-        } catch (NumberFormatException e) {
-            return 1L;
+        if (localVersions == null || userId == null) {
+            return loadVersion(userId);
+        }
+        Long cached = localVersions.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
         }
+        return advanceLocal(userId, loadVersion(userId));
     }
 
     /**
-     * 提升用户令牌版本（使旧令牌全部失效）
+     * 提升用户令牌版本（使旧令牌全部失效），并通知所有节点
      * @param userId 用户 ID
      * @return 新的版本号
      */
@@ -48,6 +79,10 @@ public class TokenVersionService {
             newVersion = 2L;
             stringRedisTemplate.opsForValue().set(key, String.valueOf(newVersion));
         }
+        if (localVersions != null && userId != null) {
+            advanceLocal(userId, newVersion);
+            publish(userId, newVersion);
+        }
         return newVersion;
     }
 
@@ -61,12 +96,63 @@ public class TokenVersionService {
         return tokenVer == getCurrentVersion(userId);
     }
 
+    /**
+     * 接收其他节点的版本提升
+     * @param message 消息
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            VersionMessage msg = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), VersionMessage.class);
+            if (msg != null && msg.uid() != null) {
+                advanceLocal(msg.uid(), msg.ver());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to handle token version message", e);
+        }
+    }
+
+    private long loadVersion(Long userId) {
+        String val = stringRedisTemplate.opsForValue().get(buildKey(userId));
+        if (val == null) return 1L;
+        try {
+            return Long.parseLong(val);
+        } catch (NumberFormatException e) {
+            return 1L;
+        }
+    }
+
+    /**
+     * 版本只增不减：并发回填的旧值不会覆盖已收到的新版本
+     */
+    private long advanceLocal(Long userId, long version) {
+        Long merged = localVersions.asMap().merge(userId, version, Math::max);
+        return merged == null ? version : merged;
+    }
+
+    private void publish(Long userId, long version) {
+        try {
+            stringRedisTemplate.convertAndSend(SecurityConstants.TOKEN_VERSION_CHANNEL,
+                    objectMapper.writeValueAsString(new VersionMessage(userId, version)));
+        } catch (Exception e) {
+            log.warn("Failed to publish token version: uid={}, ver={}", userId, version, e);
+        }
+    }
+
     /**
      * 构造 Redis 键名
      * @param userId 用户 ID
      * @return 键名
      */
     private String buildKey(Long userId) {
-        return "token:ver:" + (userId == null ? "null" : userId);
+        return SecurityConstants.TOKEN_VERSION_KEY_PREFIX + (userId == null ? "null" : userId);
     }
+
+    /**
+     * 版本变更消息体
+     * @param uid 用户 ID
+     * @param ver 新版本号
+     */
+    record VersionMessage(Long uid, long ver) {}
 }
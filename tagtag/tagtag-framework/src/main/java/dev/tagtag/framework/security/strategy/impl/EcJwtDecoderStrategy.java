@@ -0,0 +1,35 @@
+package dev.tagtag.framework.security.strategy.impl;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.proc.SingleKeyJWSKeySelector;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.strategy.JwtDecoderStrategy;
+import dev.tagtag.framework.security.util.JwtKeyUtils;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.security.PublicKey;
+
+/**
+ * ES256 解码策略：NimbusJwtDecoder 只内置 RSA 公钥的构建方式，这里直接装配 JWT 处理器
+ */
+public class EcJwtDecoderStrategy implements JwtDecoderStrategy {
+
+    private final JwtProperties jwtProperties;
+
+    public EcJwtDecoderStrategy(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+    }
+
+    @Override
+    public JwtDecoder createDecoder() {
+        PublicKey publicKey = JwtKeyUtils.loadPublicKey(jwtProperties.getPublicKeyPem(), JwtKeyUtils.EC_ALGORITHM);
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new SingleKeyJWSKeySelector<>(JWSAlgorithm.ES256, publicKey));
+        // 声明校验交给 NimbusJwtDecoder 的 OAuth2TokenValidator
+        processor.setJWTClaimsSetVerifier((claims, context) -> {});
+        return new NimbusJwtDecoder(processor);
+    }
+}
@@ -0,0 +1,51 @@
+package dev.tagtag.framework.security.strategy.impl;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jwt.SignedJWT;
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.strategy.JwtSignerStrategy;
+import dev.tagtag.framework.security.util.JwtKeyUtils;
+
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+
+/**
+ * ES256（ECDSA P-256 + SHA-256）签名策略，密钥在构造时加载一次
+ */
+public class EcJwtSignerStrategy implements JwtSignerStrategy {
+
+    private final JWSSigner signer;
+    private final JWSVerifier verifier;
+
+    public EcJwtSignerStrategy(JwtProperties jwtProperties) {
+        try {
+            this.signer = new ECDSASigner((ECPrivateKey) JwtKeyUtils.loadPrivateKey(
+                    jwtProperties.getPrivateKeyPem(), JwtKeyUtils.EC_ALGORITHM));
+            this.verifier = new ECDSAVerifier((ECPublicKey) JwtKeyUtils.loadPublicKey(
+                    jwtProperties.getPublicKeyPem(), JwtKeyUtils.EC_ALGORITHM));
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Invalid EC key for ES256", e);
+        }
+    }
+
+    @Override
+    public JWSHeader createHeader() {
+        return new JWSHeader(JWSAlgorithm.ES256);
+    }
+
+    @Override
+    public void sign(SignedJWT jwt) throws Exception {
+        jwt.sign(signer);
+    }
+
+    @Override
+    public boolean verify(SignedJWT jwt) throws Exception {
+        return jwt.verify(verifier);
+    }
+}
@@ -0,0 +1,70 @@
+package dev.tagtag.framework.security.strategy.impl;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.proc.JWSVerifierFactory;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.proc.SingleKeyJWSKeySelector;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.strategy.JwtDecoderStrategy;
+import dev.tagtag.framework.security.util.Ed25519JwsVerifier;
+import dev.tagtag.framework.security.util.JwtKeyUtils;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.Set;
+
+/**
+ * EdDSA（Ed25519）解码策略：Nimbus 默认验签工厂只支持 OKP JWK，这里注入基于 JDK 公钥的验签器
+ */
+public class Ed25519JwtDecoderStrategy implements JwtDecoderStrategy {
+
+    private final JwtProperties jwtProperties;
+
+    public Ed25519JwtDecoderStrategy(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+    }
+
+    @Override
+    public JwtDecoder createDecoder() {
+        PublicKey publicKey = JwtKeyUtils.loadPublicKey(jwtProperties.getPublicKeyPem(), JwtKeyUtils.ED25519_ALGORITHM);
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new SingleKeyJWSKeySelector<>(JWSAlgorithm.EdDSA, publicKey));
+        processor.setJWSVerifierFactory(new Ed25519VerifierFactory());
+        // 声明校验交给 NimbusJwtDecoder 的 OAuth2TokenValidator
+        processor.setJWTClaimsSetVerifier((claims, context) -> {});
+        return new NimbusJwtDecoder(processor);
+    }
+
+    /**
+     * 为 EdDSA 头部与 JDK Ed25519 公钥创建验签器
+     */
+    private static final class Ed25519VerifierFactory implements JWSVerifierFactory {
+
+        private final JCAContext jcaContext = new JCAContext();
+
+        @Override
+        public JWSVerifier createJWSVerifier(JWSHeader header, Key key) throws JOSEException {
+            if (!JWSAlgorithm.EdDSA.equals(header.getAlgorithm()) || !(key instanceof PublicKey publicKey)) {
+                throw new JOSEException("Unsupported JWS algorithm or key: " + header.getAlgorithm());
+            }
+            return new Ed25519JwsVerifier(publicKey);
+        }
+
+        @Override
+        public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+            return Set.of(JWSAlgorithm.EdDSA);
+        }
+
+        @Override
+        public JCAContext getJCAContext() {
+            return jcaContext;
+        }
+    }
+}
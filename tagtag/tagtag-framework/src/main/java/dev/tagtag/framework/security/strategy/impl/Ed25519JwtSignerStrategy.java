@@ -0,0 +1,41 @@
+package dev.tagtag.framework.security.strategy.impl;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jwt.SignedJWT;
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.strategy.JwtSignerStrategy;
+import dev.tagtag.framework.security.util.Ed25519JwsSigner;
+import dev.tagtag.framework.security.util.Ed25519JwsVerifier;
+import dev.tagtag.framework.security.util.JwtKeyUtils;
+
+/**
+ * EdDSA（Ed25519）签名策略，密钥在构造时加载一次
+ */
+public class Ed25519JwtSignerStrategy implements JwtSignerStrategy {
+
+    private final Ed25519JwsSigner signer;
+    private final Ed25519JwsVerifier verifier;
+
+    public Ed25519JwtSignerStrategy(JwtProperties jwtProperties) {
+        this.signer = new Ed25519JwsSigner(JwtKeyUtils.loadPrivateKey(
+                jwtProperties.getPrivateKeyPem(), JwtKeyUtils.ED25519_ALGORITHM));
+        this.verifier = new Ed25519JwsVerifier(JwtKeyUtils.loadPublicKey(
+                jwtProperties.getPublicKeyPem(), JwtKeyUtils.ED25519_ALGORITHM));
+    }
+
+    @Override
+    public JWSHeader createHeader() {
+        return new JWSHeader(JWSAlgorithm.EdDSA);
+    }
+
+    @Override
+    public void sign(SignedJWT jwt) throws Exception {
+        jwt.sign(signer);
+    }
+
+    @Override
+    public boolean verify(SignedJWT jwt) throws Exception {
+        return jwt.verify(verifier);
+    }
+}
@@ -0,0 +1,82 @@
+package dev.tagtag.framework.security.strategy.impl;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.EncryptedJWT;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.PlainJWT;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.JWTProcessor;
+import dev.tagtag.framework.security.service.JwtKeyRing;
+import dev.tagtag.framework.security.strategy.JwtDecoderStrategy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.text.ParseException;
+
+/**
+ * 多密钥解码策略：按 kid 从密钥环取预先构建的验签器，密钥重新加载后立即生效
+ */
+@RequiredArgsConstructor
+public class KeyRingJwtDecoderStrategy implements JwtDecoderStrategy {
+
+    private final JwtKeyRing keyRing;
+
+    @Override
+    public JwtDecoder createDecoder() {
+        // 声明校验交给 NimbusJwtDecoder 的 OAuth2TokenValidator
+        return new NimbusJwtDecoder(new KeyRingJwtProcessor(keyRing));
+    }
+
+    /**
+     * 只接受已签名的 JWT，签名由密钥环校验
+     */
+    @RequiredArgsConstructor
+    private static final class KeyRingJwtProcessor implements JWTProcessor<SecurityContext> {
+
+        private final JwtKeyRing keyRing;
+
+        @Override
+        public JWTClaimsSet process(String token, SecurityContext context)
+                throws ParseException, BadJOSEException, JOSEException {
+            return process(JWTParser.parse(token), context);
+        }
+
+        @Override
+        public JWTClaimsSet process(JWT jwt, SecurityContext context)
+                throws BadJOSEException, JOSEException {
+            if (jwt instanceof SignedJWT signed) {
+                return process(signed, context);
+            }
+            throw new BadJOSEException("Unsigned or encrypted JWT rejected");
+        }
+
+        @Override
+        public JWTClaimsSet process(PlainJWT jwt, SecurityContext context) throws BadJOSEException {
+            throw new BadJOSEException("Unsigned JWT rejected");
+        }
+
+        @Override
+        public JWTClaimsSet process(SignedJWT jwt, SecurityContext context)
+                throws BadJOSEException, JOSEException {
+            if (!keyRing.verify(jwt)) {
+                throw new BadJWSException("Signed JWT rejected: Invalid signature or unknown kid");
+            }
+            try {
+                return jwt.getJWTClaimsSet();
+            } catch (ParseException e) {
+                throw new BadJWSException("Invalid JWT claims set", e);
+            }
+        }
+
+        @Override
+        public JWTClaimsSet process(EncryptedJWT jwt, SecurityContext context) throws BadJOSEException {
+            throw new BadJOSEException("Encrypted JWT rejected");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package dev.tagtag.framework.security.strategy.impl;
+
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jwt.SignedJWT;
+import dev.tagtag.framework.security.service.JwtKeyRing;
+import dev.tagtag.framework.security.strategy.JwtSignerStrategy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 多密钥签名策略：用密钥环的当前密钥签名并写入 kid，验签按 kid 选择验签器
+ */
+@RequiredArgsConstructor
+public class KeyRingJwtSignerStrategy implements JwtSignerStrategy {
+
+    private final JwtKeyRing keyRing;
+
+    @Override
+    public JWSHeader createHeader() {
+        JwtKeyRing.KeyEntry active = keyRing.activeKey();
+        return new JWSHeader.Builder(active.algorithm()).keyID(active.kid()).build();
+    }
+
+    /**
+     * 按头部 kid 签名：头部生成后即使发生轮换，签名密钥也与 kid 一致
+     */
+    @Override
+    public void sign(SignedJWT jwt) throws Exception {
+        jwt.sign(keyRing.signingKey(jwt.getHeader().getKeyID()).signer());
+    }
+
+    @Override
+    public boolean verify(SignedJWT jwt) throws Exception {
+        return keyRing.verify(jwt);
+    }
+}
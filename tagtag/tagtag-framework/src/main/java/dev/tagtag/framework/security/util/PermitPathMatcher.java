@@ -0,0 +1,239 @@
+package dev.tagtag.framework.security.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 公开路径匹配器：把 permit-paths 编译为按路径段组织的前缀树，CustomBearerTokenResolver 与 SecurityConfig 共用
+ * 匹配时按请求路径逐段下行，耗时与路径段数成正比，与规则数量无关。
+ * 语义与 Spring PathPatternParser 一致（区分大小写，不匹配可选的结尾斜杠）：
+ * 字面段；"*" / "{var}" 匹配一个非空段（位于末尾的 "*" 也匹配空的最后一段，如 "/a/*" 匹配 "/a/"）；
+ * 段内通配（如 "*.js"、"file?.txt"、"{id}.json"）；
+ * 末尾的 "**" / "{*var}" 匹配零个或多个剩余段。"**" 只允许出现在末尾。
+ * 请求路径按 PathContainer 的方式取段值：去掉 ";" 之后的路径参数并做 URL 解码。
+ */
+public final class PermitPathMatcher implements RequestMatcher {
+
+    private final Node root = new Node();
+    private final List<String> patterns;
+
+    private PermitPathMatcher(List<String> patterns) {
+        this.patterns = List.copyOf(patterns);
+        for (String pattern : patterns) {
+            add(pattern);
+        }
+    }
+
+    /**
+     * 编译路径规则
+     * @param patterns 路径规则（如 SecurityProperties.getEffectivePermitPaths()）
+     * @return 匹配器
+     */
+    public static PermitPathMatcher compile(List<String> patterns) {
+        return new PermitPathMatcher(patterns == null ? List.of() : patterns);
+    }
+
+    /**
+     * 编译时使用的规则
+     * @return 规则列表
+     */
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * 请求路径（不含上下文路径）是否命中任一规则
+     * @param request 请求
+     * @return 是否命中
+     */
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)) {
+            uri = uri.substring(contextPath.length());
+        }
+        return matches(uri);
+    }
+
+    /**
+     * 路径是否命中任一规则
+     * @param path 以 "/" 开头的路径
+     * @return 是否命中
+     */
+    public boolean matches(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return false;
+        }
+        List<String> segments = segments(path, true);
+        return match(root, segments, 0);
+    }
+
+    private static boolean match(Node node, List<String> segments, int index) {
+        if (node.matchesRest) {
+            return true;
+        }
+        if (index == segments.size()) {
+            return node.terminal;
+        }
+        String segment = segments.get(index);
+        Node literal = node.literals.get(segment);
+        if (literal != null && match(literal, segments, index + 1)) {
+            return true;
+        }
+        if (node.single != null && !segment.isEmpty() && match(node.single, segments, index + 1)) {
+            return true;
+        }
+        if (node.trailingStar && segment.isEmpty() && index + 1 == segments.size()) {
+            return true;
+        }
+        for (GlobChild glob : node.globs) {
+            if (glob.pattern.matcher(segment).matches() && match(glob.node, segments, index + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(String pattern) {
+        if (pattern == null || pattern.isEmpty() || pattern.charAt(0) != '/') {
+            // 不以 "/" 开头的规则不会匹配任何请求路径
+            return;
+        }
+        List<String> segments = segments(pattern, false);
+        Node node = root;
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if ("**".equals(segment) || (segment.startsWith("{*") && segment.endsWith("}"))) {
+                if (i != segments.size() - 1) {
+                    throw new IllegalArgumentException("'**' is only allowed at the end of a permit path: " + pattern);
+                }
+                node.matchesRest = true;
+                return;
+            }
+            if ("*".equals(segment) || isCaptureVariable(segment)) {
+                if ("*".equals(segment) && i == segments.size() - 1) {
+                    node.trailingStar = true;
+                }
+                if (node.single == null) {
+                    node.single = new Node();
+                }
+                node = node.single;
+            } else if (isGlob(segment)) {
+                node = node.glob(segment);
+            } else {
+                node = node.literals.computeIfAbsent(segment, k -> new Node());
+            }
+        }
+        node.terminal = true;
+    }
+
+    /**
+     * 按 "/" 切分（保留空段，"/" 即一个空段）。请求路径的段去掉路径参数并解码
+     */
+    private static List<String> segments(String path, boolean decode) {
+        List<String> segments = new ArrayList<>(8);
+        int start = 1;
+        while (true) {
+            int end = path.indexOf('/', start);
+            String segment = end < 0 ? path.substring(start) : path.substring(start, end);
+            segments.add(decode ? valueToMatch(segment) : segment);
+            if (end < 0) {
+                return segments;
+            }
+            start = end + 1;
+        }
+    }
+
+    private static String valueToMatch(String segment) {
+        int semicolon = segment.indexOf(';');
+        if (semicolon >= 0) {
+            segment = segment.substring(0, semicolon);
+        }
+        if (segment.indexOf('%') < 0) {
+            return segment;
+        }
+        try {
+            return StringUtils.uriDecode(segment, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return segment;
+        }
+    }
+
+    private static boolean isCaptureVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}'
+                && segment.indexOf('{', 1) < 0 && segment.indexOf(':') < 0;
+    }
+
+    private static boolean isGlob(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    /**
+     * 段内通配转正则：* → .*，? → .，{var} → .*，{var:regex} → regex，其余字面量转义
+     */
+    private static Pattern toRegex(String segment) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                if (c == '*') {
+                    regex.append(".*");
+                } else if (c == '?') {
+                    regex.append('.');
+                } else {
+                    int close = segment.indexOf('}', i);
+                    if (close < 0) {
+                        throw new IllegalArgumentException("Unclosed variable in permit path segment: " + segment);
+                    }
+                    String variable = segment.substring(i + 1, close);
+                    int colon = variable.indexOf(':');
+                    regex.append('(').append(colon < 0 ? ".*" : variable.substring(colon + 1)).append(')');
+                    i = close;
+                }
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> literals = new HashMap<>();
+        private final List<GlobChild> globs = new ArrayList<>();
+        private Node single;
+        private boolean trailingStar;
+        private boolean terminal;
+        private boolean matchesRest;
+
+        private Node glob(String segment) {
+            for (GlobChild child : globs) {
+                if (child.segment.equals(segment)) {
+                    return child.node;
+                }
+            }
+            GlobChild child = new GlobChild(segment, toRegex(segment), new Node());
+            globs.add(child);
+            return child.node;
+        }
+    }
+
+    private record GlobChild(String segment, Pattern pattern, Node node) {}
+}
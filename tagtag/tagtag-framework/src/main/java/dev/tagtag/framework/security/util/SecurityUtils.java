@@ -1,5 +1,6 @@
 package dev.tagtag.framework.security.util;
 
+import dev.tagtag.framework.security.model.PrincipalAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,6 +15,9 @@ public class SecurityUtils {
         if (auth == null) {
             return false;
         }
+        if (auth instanceof PrincipalAuthenticationToken token) {
+            return token.hasAuthority(authority);
+        }
 
         Collection<? extends GrantedAuthority> authorities = auth.getAuthorities();
         if (authorities == null) {
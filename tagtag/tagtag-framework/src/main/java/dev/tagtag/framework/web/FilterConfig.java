@@ -1,5 +1,11 @@
 package dev.tagtag.framework.web;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tagtag.common.exception.ErrorCode;
+import dev.tagtag.common.model.Result;
+import dev.tagtag.framework.config.RateLimitProperties;
+import dev.tagtag.framework.ratelimit.HeavyHitterGuard;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +16,8 @@ public class FilterConfig {
     private static final String TRACE_ID_FILTER_NAME = "traceIdFilter";
     private static final String URL_PATTERN_ALL = "/*";
     private static final int TRACE_ID_FILTER_ORDER = Integer.MIN_VALUE + 10;
+    private static final String HEAVY_HITTER_FILTER_NAME = "heavyHitterFilter";
+    private static final int HEAVY_HITTER_FILTER_ORDER = TRACE_ID_FILTER_ORDER + 1;
 
     @Bean
     public FilterRegistrationBean<TraceIdFilter> traceIdFilterRegistration() {
@@ -20,4 +28,19 @@ public class FilterConfig {
         reg.setName(TRACE_ID_FILTER_NAME);
         return reg;
     }
+
+    @Bean
+    public FilterRegistrationBean<HeavyHitterFilter> heavyHitterFilterRegistration(HeavyHitterGuard heavyHitterGuard,
+                                                                                   RateLimitProperties rateLimitProperties,
+                                                                                   ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        FilterRegistrationBean<HeavyHitterFilter> reg = new FilterRegistrationBean<>();
+        byte[] body = objectMapper.writeValueAsBytes(Result.fail(ErrorCode.TOO_MANY_REQUESTS));
+        reg.setFilter(new HeavyHitterFilter(heavyHitterGuard,
+                rateLimitProperties.getHeavyHitter().getTrustedProxies(), body));
+        reg.setOrder(HEAVY_HITTER_FILTER_ORDER);
+        reg.addUrlPatterns(URL_PATTERN_ALL);
+        reg.setName(HEAVY_HITTER_FILTER_NAME);
+        return reg;
+    }
 }
@@ -0,0 +1,144 @@
+package dev.tagtag.framework.web;
+
+import dev.tagtag.framework.ratelimit.HeavyHitterGuard;
+import dev.tagtag.kernel.constant.SecurityConstants;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 高频客户端拦截过滤器：紧随 TraceIdFilter，在安全过滤器链、令牌解码与任何 Redis 访问之前执行
+ * 按客户端 IP 与 Bearer 令牌指纹计数，命中封禁时直接写出预先序列化的 429 响应。
+ * 令牌只取原文哈希作为标识而不解析 sub：未验签的 sub 可被伪造，用它计数会让攻击者封禁他人账号。
+ * 客户端 IP 默认取连接对端地址；仅当对端是受信代理时才采信转发头，并取 X-Forwarded-For 中最右侧的非受信地址，
+ * 否则客户端可随意伪造转发头，既能逃避计数，也能让他人 IP 被封禁。
+ */
+public class HeavyHitterFilter implements Filter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final HeavyHitterGuard guard;
+    private final List<IpAddressMatcher> trustedProxies;
+    private final byte[] tooManyRequestsBody;
+
+    /**
+     * 构造函数
+     * @param guard 高频客户端判定
+     * @param trustedProxies 受信代理（IP 或 CIDR）
+     * @param tooManyRequestsBody 429 响应体（JSON）
+     */
+    public HeavyHitterFilter(HeavyHitterGuard guard, List<String> trustedProxies, byte[] tooManyRequestsBody) {
+        this.guard = guard;
+        this.trustedProxies = trustedProxies.stream()
+                .filter(StringUtils::hasText)
+                .map(p -> new IpAddressMatcher(p.trim()))
+                .toList();
+        this.tooManyRequestsBody = tooManyRequestsBody;
+    }
+
+    /**
+     * 过滤器主流程：IP 或令牌任一被判定为高频即返回 429，否则继续后续链路
+     * @param request HTTP 请求
+     * @param response HTTP 响应
+     * @param chain 过滤器链
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!guard.isEnabled() || !(request instanceof HttpServletRequest req)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String ip = resolveClientIp(req);
+        if (guard.isExempt(ip)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        boolean blocked = guard.hit("ip:" + ip);
+        String authorization = req.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            blocked |= guard.hit("tok:" + fingerprint(authorization));
+        }
+        if (blocked) {
+            HttpServletResponse resp = (HttpServletResponse) response;
+            resp.setStatus(429);
+            resp.setContentType(MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8");
+            resp.setContentLength(tooManyRequestsBody.length);
+            resp.getOutputStream().write(tooManyRequestsBody);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * 解析客户端 IP：对端不是受信代理时直接返回对端地址；
+     * 否则自右向左跳过受信代理，取 X-Forwarded-For 中第一个非受信地址（全部受信时取最左侧），无该头时取 X-Real-IP
+     */
+    private String resolveClientIp(HttpServletRequest req) {
+        String remote = req.getRemoteAddr();
+        if (!isTrusted(remote)) {
+            return remote;
+        }
+        String xff = req.getHeader(SecurityConstants.X_FORWARDED_FOR);
+        if (StringUtils.hasText(xff)) {
+            String[] hops = xff.split(",");
+            String client = null;
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (hop.isEmpty()) {
+                    continue;
+                }
+                client = hop;
+                if (!isTrusted(hop)) {
+                    break;
+                }
+            }
+            if (client != null) {
+                return client;
+            }
+        }
+        String rip = req.getHeader(SecurityConstants.X_REAL_IP);
+        if (StringUtils.hasText(rip)) {
+            return rip.trim();
+        }
+        return remote;
+    }
+
+    private boolean isTrusted(String ip) {
+        if (ip == null || trustedProxies.isEmpty()) {
+            return false;
+        }
+        try {
+            for (IpAddressMatcher matcher : trustedProxies) {
+                if (matcher.matches(ip)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return false;
+    }
+
+    /**
+     * 令牌原文的 64 位哈希（只用作计数标识，不保存令牌）
+     */
+    private static String fingerprint(String authorization) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = BEARER_PREFIX.length(); i < authorization.length(); i++) {
+            h = (h ^ authorization.charAt(i)) * 0x100000001b3L;
+        }
+        return Long.toHexString(h);
+    }
+}
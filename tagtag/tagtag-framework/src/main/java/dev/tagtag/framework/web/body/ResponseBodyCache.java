@@ -0,0 +1,222 @@
+package dev.tagtag.framework.web.body;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import dev.tagtag.common.exception.BusinessException;
+import dev.tagtag.common.exception.ErrorCode;
+import dev.tagtag.framework.cache.CacheVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 目录类接口的响应体缓存：保存已序列化的 UTF-8 JSON（可选 gzip）与强 ETag，命中时直接写出字节
+ * 缓存条目记录生成时数据来源缓存的版本号（{@link CacheVersions}），版本变化即视为目录已更新，重新取数并序列化；
+ * 版本号在读取数据之前获取，取数期间发生的变更会使条目在下次请求时失效。请求携带匹配的 If-None-Match 时返回 304。
+ * 条目按数据来源缓存的 L1 TTL 过期：失效广播丢失时 L1 最迟在 TTL 后回源，序列化结果不会比 L1 中的数据保留更久。
+ */
+@Slf4j
+public class ResponseBodyCache {
+
+    private static final int ETAG_BYTES = 16;
+
+    private final ObjectMapper objectMapper;
+    private final CacheVersions cacheVersions;
+    private final boolean enabled;
+    private final int gzipThreshold;
+    private final Function<String, Duration> ttlResolver;
+    private final Cache<String, Entry> entries;
+
+    /**
+     * 构造函数
+     * @param objectMapper 响应序列化（与 MVC 使用同一实例，保证输出一致）
+     * @param cacheVersions 缓存版本号
+     * @param enabled 是否缓存序列化结果（关闭时每次重新序列化，仍输出 ETag）
+     * @param maxEntries 最大缓存条目数
+     * @param gzipThreshold 预压缩阈值（字节，≤0 不压缩）
+     * @param ttlResolver 按数据来源缓存名解析条目存活时间（与该缓存的 L1 TTL 一致）
+     */
+    public ResponseBodyCache(ObjectMapper objectMapper, CacheVersions cacheVersions, boolean enabled, long maxEntries, int gzipThreshold,
+                             Function<String, Duration> ttlResolver) {
+        this.objectMapper = objectMapper;
+        this.cacheVersions = cacheVersions;
+        this.enabled = enabled;
+        this.gzipThreshold = gzipThreshold;
+        this.ttlResolver = ttlResolver;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.writing((String key, Entry entry) -> entry.ttl()))
+                .build();
+    }
+
+    /**
+     * 输出响应：条目版本与数据来源缓存的当前版本一致时直接复用字节，否则调用 body 取数并序列化
+     * @param key 条目键（为空时不缓存，如带自由文本过滤条件的查询）
+     * @param cacheName 数据来源的业务缓存名（其版本作为条目版本）
+     * @param body 响应体生成函数（仅在需要重建时调用）
+     * @return 预序列化响应（或 304）
+     */
+    public <T> ResponseEntity<SerializedBody<T>> respond(String key, String cacheName, Supplier<T> body) {
+        boolean cacheable = enabled && key != null && cacheName != null;
+        long version = cacheable ? cacheVersions.current(cacheName) : 0L;
+        Entry entry = cacheable ? entries.getIfPresent(key) : null;
+        if (entry == null || entry.version() != version) {
+            entry = render(version, cacheable ? ttlResolver.apply(cacheName) : Duration.ZERO, body.get());
+            if (cacheable) {
+                // 并发重建时保留版本较新的条目
+                entries.asMap().merge(key, entry, (old, rendered) -> rendered.version() >= old.version() ? rendered : old);
+            }
+        }
+        HttpServletRequest request = currentRequest();
+        boolean gzip = entry.gzip() != null && request != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? entry.gzipEtag() : entry.etag();
+        if (request != null && matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(new SerializedBody<>(entry.gzip()));
+        }
+        return builder.body(new SerializedBody<>(entry.identity()));
+    }
+
+    /**
+     * 使某个条目失效（一般无需调用，版本变化会自动重建）
+     * @param key 条目键
+     */
+    public void evict(String key) {
+        entries.invalidate(key);
+    }
+
+    private Entry render(long version, Duration ttl, Object body) {
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize response body", e);
+            throw BusinessException.of(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+        byte[] gzip = gzipThreshold > 0 && identity.length >= gzipThreshold ? gzip(identity) : null;
+        return new Entry(version, ttl, identity, gzip, etag(identity));
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(raw);
+        } catch (IOException e) {
+            log.warn("Failed to gzip response body, serving identity", e);
+            return null;
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return "\"" + HexFormat.of().formatHex(digest, 0, ETAG_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * If-None-Match 比较（弱比较，支持多个值与 *）
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Accept-Encoding 是否接受 gzip（忽略 q=0 的显式拒绝）
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!"gzip".equalsIgnoreCase(tokens[0].trim())) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=") && parseQuality(param.substring(2)) <= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static double parseQuality(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 1.0;
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attrs
+                ? attrs.getRequest() : null;
+    }
+
+    /**
+     * 缓存条目
+     * @param version 生成时数据来源缓存的版本
+     * @param ttl 存活时间
+     * @param identity 未压缩字节
+     * @param gzip gzip 字节（低于阈值时为空）
+     * @param etag 未压缩表示的强 ETag
+     */
+    private record Entry(long version, Duration ttl, byte[] identity, byte[] gzip, String etag) {
+
+        /**
+         * gzip 表示的强 ETag（不同编码的字节不同，ETag 需区分）
+         */
+        String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package dev.tagtag.framework.web.body;
+
+/**
+ * 预序列化响应体：持有已编码的 JSON 字节，由 {@link SerializedBodyHttpMessageConverter} 原样写出
+ * 类型参数仅用于接口文档推断，不参与序列化
+ *
+ * @param <T> 原始响应体类型
+ */
+public final class SerializedBody<T> {
+
+    private final byte[] bytes;
+
+    SerializedBody(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * 已编码的响应字节（可能为 gzip 压缩后的内容，由响应头 Content-Encoding 标识）
+     * @return 字节数组
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,46 @@
+package dev.tagtag.framework.web.body;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+
+/**
+ * 预序列化响应体转换器：直接写出缓存的字节，跳过 Jackson 序列化
+ */
+public class SerializedBodyHttpMessageConverter extends AbstractHttpMessageConverter<SerializedBody<?>> {
+
+    public SerializedBodyHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return SerializedBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @NonNull
+    protected SerializedBody<?> readInternal(@NonNull Class<? extends SerializedBody<?>> clazz, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("SerializedBody is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(@NonNull SerializedBody<?> body, MediaType contentType) {
+        return (long) body.getBytes().length;
+    }
+
+    @Override
+    protected void writeInternal(@NonNull SerializedBody<?> body, @NonNull HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(body.getBytes());
+    }
+}
@@ -0,0 +1,128 @@
+package dev.tagtag.framework.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.tagtag.framework.support.EmbeddedRedisSupport;
+import dev.tagtag.kernel.constant.CacheConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.ChannelTopic;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 缓存代数测试：递增代数切换键前缀，其他节点经通知或定期回源得知新代数并清理 L1，迟到的旧代数不会回退
+ */
+public class CacheGenerationsTest extends EmbeddedRedisSupport {
+
+    /**
+     * 递增后前缀切换到新代数，新启动的节点从 Redis 读到同一代数
+     */
+    @Test
+    public void advanceSwitchesPrefix() {
+        CacheGenerations generations = newGenerations(Duration.ofMinutes(1));
+        long before = generations.current("genPrefix");
+        assertEquals("tagtag:genPrefix:g" + before + ":", generations.prefix("genPrefix"));
+
+        long next = generations.advance("genPrefix");
+        assertEquals(before + 1, next);
+        assertEquals("tagtag:genPrefix:g" + next + ":", generations.prefix("genPrefix"));
+        assertEquals(next, newGenerations(Duration.ofMinutes(1)).current("genPrefix"));
+    }
+
+    /**
+     * 其他节点经 Pub/Sub 收到新代数后清理该缓存的 L1
+     */
+    @Test
+    public void peerAdvanceClearsLocalCache() throws InterruptedException {
+        CacheGenerations nodeA = newGenerations(Duration.ofMinutes(1));
+        CacheGenerations nodeB = newGenerations(Duration.ofMinutes(1));
+        container.addMessageListener(nodeB, new ChannelTopic(CacheConstants.CACHE_GENERATION_CHANNEL));
+        TwoLevelCacheManager l1 = twoLevel();
+        nodeB.addListener(l1::clearLocal);
+
+        long before = nodeB.current("genPeer");
+        l1.getCache("genPeer").put("k", "v");
+        long next = nodeA.advance("genPeer");
+
+        awaitTrue(() -> nodeB.current("genPeer") == next);
+        assertEquals(before + 1, next);
+        assertNull(l1.getLocalCache("genPeer").getIfPresent("k"));
+        container.removeMessageListener(nodeB);
+    }
+
+    /**
+     * 丢失通知时按同步间隔回源 Redis，发现代数变化同样触发回调
+     */
+    @Test
+    public void missedMessageIsCaughtBySync() throws InterruptedException {
+        CacheGenerations nodeA = newGenerations(Duration.ofMinutes(1));
+        CacheGenerations nodeB = newGenerations(Duration.ofMillis(500));
+        AtomicInteger changes = new AtomicInteger();
+        nodeB.addListener(name -> changes.incrementAndGet());
+
+        long before = nodeB.current("genSync");
+        nodeA.advance("genSync");
+        assertEquals(before, nodeB.current("genSync"));
+
+        awaitTrue(() -> nodeB.current("genSync") == before + 1);
+        assertEquals(1, changes.get());
+    }
+
+    /**
+     * 迟到的旧代数消息不会让本地代数回退，也不触发回调
+     */
+    @Test
+    public void staleMessageDoesNotRollBack() throws Exception {
+        CacheGenerations generations = newGenerations(Duration.ofMinutes(1));
+        AtomicInteger changes = new AtomicInteger();
+        generations.addListener(name -> changes.incrementAndGet());
+        long current = generations.advance("genStale");
+
+        byte[] body = new ObjectMapper().writeValueAsBytes(new CacheGenerations.GenerationMessage("genStale", current - 1));
+        generations.onMessage(new DefaultMessage(CacheConstants.CACHE_GENERATION_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+        assertEquals(current, generations.current("genStale"));
+        assertEquals(0, changes.get());
+    }
+
+    /**
+     * 代数缓存的清空只递增代数：旧条目仍留在 Redis 等待过期但不再可见，新条目写在新前缀下
+     */
+    @Test
+    public void clearHidesOldEntries() {
+        CacheGenerations generations = newGenerations(Duration.ofMinutes(1));
+        RedisCacheManager redis = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig().computePrefixWith(generations::prefix))
+                .build();
+        redis.afterPropertiesSet();
+        Cache cache = new GenerationalCacheManager(redis, generations).getCache("genClear");
+
+        cache.put("k", "v1");
+        String oldPrefix = generations.prefix("genClear");
+        cache.clear();
+        assertNull(cache.get("k"));
+        assertTrue(template.hasKey(oldPrefix + "k"));
+
+        cache.put("k", "v2");
+        assertEquals("v2", cache.get("k", String.class));
+    }
+
+    private static CacheGenerations newGenerations(Duration syncInterval) {
+        return new CacheGenerations(template, new ObjectMapper(), syncInterval);
+    }
+
+    private static TwoLevelCacheManager twoLevel() {
+        return new TwoLevelCacheManager(new ConcurrentMapCacheManager(), name -> Caffeine.newBuilder().maximumSize(10).build(),
+                template, new ObjectMapper(), new CacheVersions());
+    }
+}
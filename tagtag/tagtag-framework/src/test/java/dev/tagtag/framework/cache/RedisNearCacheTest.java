@@ -0,0 +1,71 @@
+package dev.tagtag.framework.cache;
+
+import dev.tagtag.framework.support.EmbeddedRedisSupport;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 客户端缓存测试：内嵌 Redis 上开启 BCAST 追踪，写入后近端条目被推送失效
+ */
+public class RedisNearCacheTest extends EmbeddedRedisSupport {
+
+    private static RedisNearCache nearCache;
+
+    @BeforeAll
+    public static void setUp() {
+        nearCache = new RedisNearCache(connectionFactory, template, List.of("token:ver:"), 1000);
+        nearCache.start();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        nearCache.stop();
+    }
+
+    /**
+     * 登记前缀下的键被缓存，Redis 侧修改后推送失效，下一次读取拿到新值
+     */
+    @Test
+    public void trackedKeyIsInvalidatedOnWrite() throws InterruptedException {
+        String key = "token:ver:1";
+        template.opsForValue().set(key, "3");
+        assertEquals("3", nearCache.get(key));
+        assertTrue(nearCache.isCached(key));
+
+        template.opsForValue().increment(key);
+        awaitTrue(() -> !nearCache.isCached(key));
+        assertEquals("4", nearCache.get(key));
+    }
+
+    /**
+     * 不存在的键同样缓存，写入后失效
+     */
+    @Test
+    public void missingKeyIsCachedUntilWritten() throws InterruptedException {
+        String key = "token:ver:2";
+        assertNull(nearCache.get(key));
+        assertTrue(nearCache.isCached(key));
+
+        template.opsForValue().set(key, "2");
+        awaitTrue(() -> !nearCache.isCached(key));
+        assertEquals("2", nearCache.get(key));
+    }
+
+    /**
+     * 未登记前缀的键直接读 Redis，不进入近端缓存
+     */
+    @Test
+    public void untrackedKeyBypassesNearCache() {
+        template.opsForValue().set("captcha:abc", "X1Y2");
+        assertEquals("X1Y2", nearCache.get("captcha:abc"));
+        assertFalse(nearCache.isCached("captcha:abc"));
+    }
+}
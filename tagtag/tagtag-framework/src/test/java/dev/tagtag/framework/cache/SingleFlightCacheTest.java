@@ -0,0 +1,75 @@
+package dev.tagtag.framework.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 单飞加载并发测试：N 个线程同时未命中同一键，只触发一次回源
+ */
+public class SingleFlightCacheTest {
+
+    private static final int THREADS = 32;
+
+    /**
+     * 并发未命中只调用一次加载函数，所有线程拿到同一结果
+     */
+    @Test
+    public void concurrentMissesLoadOnce() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("menuTree", false),
+                Duration.ofMinutes(5),
+                new SingleFlightCache.Options(false, Duration.ofSeconds(5), Duration.ofSeconds(3), 0, 100),
+                null);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.get("all", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return "tree";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> f : results) {
+                assertEquals("tree", f.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals("tree", cache.get("all", String.class));
+    }
+
+    /**
+     * 不同键互不阻塞，各自加载一次
+     */
+    @Test
+    public void distinctKeysLoadIndependently() {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("roleMenuCodes", false),
+                Duration.ofMinutes(5),
+                new SingleFlightCache.Options(false, Duration.ofSeconds(5), Duration.ofSeconds(3), 0, 100),
+                null);
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("1", cache.get(List.of(1L), () -> String.valueOf(loads.incrementAndGet())));
+        assertEquals("2", cache.get(List.of(2L), () -> String.valueOf(loads.incrementAndGet())));
+        assertEquals("1", cache.get(List.of(1L), () -> String.valueOf(loads.incrementAndGet())));
+        assertEquals(2, loads.get());
+    }
+}
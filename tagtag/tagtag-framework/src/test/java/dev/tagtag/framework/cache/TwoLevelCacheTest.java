@@ -0,0 +1,161 @@
+package dev.tagtag.framework.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.tagtag.kernel.constant.CacheConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 二级缓存测试：L1 命中不访问 L2，L2 命中回填 L1，驱逐/清空经广播清理其他节点 L1，写入不广播
+ */
+public class TwoLevelCacheTest {
+
+    private static final String CACHE = "menuTree";
+
+    private ConcurrentMapCacheManager remote;
+    private RecordingTemplate channel;
+    private CacheVersions versionsA;
+    private CacheVersions versionsB;
+    private TwoLevelCacheManager nodeA;
+    private TwoLevelCacheManager nodeB;
+
+    @BeforeEach
+    public void setUp() {
+        remote = new ConcurrentMapCacheManager();
+        channel = new RecordingTemplate();
+        versionsA = new CacheVersions();
+        versionsB = new CacheVersions();
+        nodeA = newManager(versionsA);
+        nodeB = newManager(versionsB);
+    }
+
+    /**
+     * L1 命中直接返回，L2 中的值被删除后本节点仍从 L1 读到
+     */
+    @Test
+    public void localHitDoesNotReadRemote() {
+        nodeA.getCache(CACHE).put("all", "tree");
+        remote.getCache(CACHE).evict("all");
+
+        assertEquals("tree", nodeA.getCache(CACHE).get("all", String.class));
+        assertNull(nodeB.getCache(CACHE).get("all"));
+    }
+
+    /**
+     * L1 未命中时回源 L2 并回填 L1，值加载函数不被调用
+     */
+    @Test
+    public void remoteHitBackfillsLocal() {
+        remote.getCache(CACHE).put("all", "tree");
+
+        Cache cache = nodeB.getCache(CACHE);
+        assertEquals("tree", cache.get("all", () -> "loaded"));
+        assertEquals("tree", nodeB.getLocalCache(CACHE).getIfPresent("all"));
+
+        remote.getCache(CACHE).evict("all");
+        assertEquals("tree", cache.get("all", String.class));
+    }
+
+    /**
+     * 写入只更新 L2 与本节点 L1，不发布失效消息也不递增版本，其他节点已缓存的值不受影响
+     */
+    @Test
+    public void putDoesNotBroadcast() {
+        nodeB.getCache(CACHE).put("all", "tree");
+        nodeA.getCache(CACHE).put("all", "tree");
+
+        assertTrue(channel.messages.isEmpty());
+        assertEquals(0L, versionsA.current(CACHE));
+        assertEquals("tree", nodeB.getLocalCache(CACHE).getIfPresent("all"));
+    }
+
+    /**
+     * 驱逐同步 L2 并广播：其他节点只清理 L1 并递增版本，发送节点忽略自己的消息
+     */
+    @Test
+    public void evictInvalidatesPeers() {
+        nodeA.getCache(CACHE).put("all", "tree");
+        nodeB.getCache(CACHE).get("all");
+        long before = versionsB.current(CACHE);
+
+        nodeA.getCache(CACHE).evict("all");
+        assertNull(remote.getCache(CACHE).get("all"));
+        assertEquals(1, channel.messages.size());
+        assertEquals(1L, versionsA.current(CACHE));
+
+        deliver(nodeA);
+        assertEquals(1L, versionsA.current(CACHE));
+        deliver(nodeB);
+        assertNull(nodeB.getLocalCache(CACHE).getIfPresent("all"));
+        assertEquals(before + 1, versionsB.current(CACHE));
+        assertNull(nodeB.getCache(CACHE).get("all"));
+    }
+
+    /**
+     * 集合键按逗号拼接后广播，其他节点清理同一个 L1 键
+     */
+    @Test
+    public void collectionKeysMatchAcrossNodes() {
+        nodeB.getCache(CACHE).put(List.of(1L, 2L), "codes");
+
+        nodeA.getCache(CACHE).evict(List.of(1L, 2L));
+        deliver(nodeB);
+        assertNull(nodeB.getLocalCache(CACHE).getIfPresent("1,2"));
+    }
+
+    /**
+     * 清空广播使其他节点的整个 L1 失效
+     */
+    @Test
+    public void clearInvalidatesPeers() {
+        nodeB.getCache(CACHE).put("a", "1");
+        nodeB.getCache(CACHE).put("b", "2");
+
+        nodeA.getCache(CACHE).clear();
+        deliver(nodeB);
+        assertEquals(0L, nodeB.getLocalCache(CACHE).estimatedSize());
+        assertNull(nodeB.getCache(CACHE).get("a"));
+        assertEquals(1L, versionsB.current(CACHE));
+    }
+
+    private TwoLevelCacheManager newManager(CacheVersions versions) {
+        return new TwoLevelCacheManager(remote, name -> Caffeine.newBuilder().maximumSize(100).build(),
+                channel, new ObjectMapper(), versions);
+    }
+
+    /**
+     * 将已发布的最后一条失效消息投递给指定节点
+     */
+    private void deliver(TwoLevelCacheManager node) {
+        String body = channel.messages.get(channel.messages.size() - 1);
+        node.onMessage(new DefaultMessage(CacheConstants.CACHE_INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    /**
+     * 记录发布内容、不连接 Redis 的模板
+     */
+    private static final class RecordingTemplate extends StringRedisTemplate {
+
+        private final List<String> messages = new ArrayList<>();
+
+        @Override
+        public Long convertAndSend(String channel, Object message) {
+            messages.add((String) message);
+            return 1L;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package dev.tagtag.framework.ratelimit;
+
+import dev.tagtag.framework.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 高频客户端拦截测试：衰减 sketch 的估计与减半，超过阈值的标识被封禁而其他标识不受影响
+ */
+public class HeavyHitterGuardTest {
+
+    /**
+     * 估计值不低于真实计数，减半后随之下降
+     */
+    @Test
+    public void sketchNeverUnderestimatesAndDecays() {
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(1024, 4);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("ip:10.0.0.1");
+        }
+        for (int i = 0; i < 500; i++) {
+            sketch.add("ip:10.0.1." + i);
+        }
+        assertTrue(sketch.estimate("ip:10.0.0.1") >= 100);
+        assertTrue(sketch.estimate("ip:10.0.0.1") < 110);
+        sketch.decay();
+        assertTrue(sketch.estimate("ip:10.0.0.1") >= 50);
+        assertTrue(sketch.estimate("ip:10.0.0.1") < 60);
+    }
+
+    /**
+     * 超过阈值后该标识被封禁，后续请求持续拦截；正常客户端放行
+     */
+    @Test
+    public void offenderIsBlockedOthersPass() {
+        RateLimitProperties props = new RateLimitProperties();
+        props.getHeavyHitter().setThreshold(50);
+        HeavyHitterGuard guard = new HeavyHitterGuard(null, props);
+
+        int allowed = 0;
+        for (int i = 0; i < 200; i++) {
+            if (!guard.hit("ip:203.0.113.9")) {
+                allowed++;
+            }
+        }
+        assertEquals(50, allowed);
+        guard.decay();
+        guard.decay();
+        assertTrue(guard.hit("ip:203.0.113.9"));
+        assertFalse(guard.hit("ip:198.51.100.7"));
+    }
+}
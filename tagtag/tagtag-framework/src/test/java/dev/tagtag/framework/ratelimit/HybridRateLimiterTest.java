@@ -0,0 +1,141 @@
+package dev.tagtag.framework.ratelimit;
+
+import dev.tagtag.framework.config.RateLimitProperties;
+import dev.tagtag.framework.support.EmbeddedRedisSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 混合限流器测试：内嵌 Redis 上的 GCRA 多维度判定；被拒绝的维度在本地拦截；Redis 故障或变慢时切换为收紧的本地令牌桶
+ */
+public class HybridRateLimiterTest extends EmbeddedRedisSupport {
+
+    /**
+     * GCRA：突发量用完后拒绝，没有窗口边界的双倍突发
+     */
+    @Test
+    public void gcraAllowsBurstThenRejects() {
+        HybridRateLimiter limiter = new HybridRateLimiter(template, new RateLimitProperties());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("rate_limit:gcra:test:burst", 5, 60));
+        }
+        assertFalse(limiter.tryAcquire("rate_limit:gcra:test:burst", 5, 60));
+    }
+
+    /**
+     * 多维度一次判定：任一维度超限即整体拒绝，且不占用其他维度的配额
+     */
+    @Test
+    public void anyExhaustedDimensionRejectsWithoutConsumingOthers() {
+        HybridRateLimiter limiter = new HybridRateLimiter(template, new RateLimitProperties());
+        HybridRateLimiter.Limit user = new HybridRateLimiter.Limit("rate_limit:gcra:test:login:arg:alice", 2, 60, 0);
+        HybridRateLimiter.Limit ip = new HybridRateLimiter.Limit("rate_limit:gcra:test:login:ip:10.0.0.1", 100, 60, 0);
+
+        assertTrue(limiter.tryAcquire(List.of(ip, user)));
+        assertTrue(limiter.tryAcquire(List.of(ip, user)));
+        String ipTat = template.opsForValue().get(ip.key());
+        assertFalse(limiter.tryAcquire(List.of(ip, user)));
+        assertEquals(ipTat, template.opsForValue().get(ip.key()));
+    }
+
+    /**
+     * Redis 拒绝后，可重试时间之前的请求不再访问 Redis
+     */
+    @Test
+    public void rejectedDimensionIsBlockedLocally() {
+        ScriptedRedis redis = new ScriptedRedis(call -> call == 1 ? List.of(1L) : List.of(0L, 30000L));
+        HybridRateLimiter limiter = new HybridRateLimiter(redis, new RateLimitProperties());
+
+        assertTrue(limiter.tryAcquire("rate_limit:gcra:auth:login", 2, 60));
+        assertFalse(limiter.tryAcquire("rate_limit:gcra:auth:login", 2, 60));
+        assertFalse(limiter.tryAcquire("rate_limit:gcra:auth:login", 2, 60));
+        assertFalse(limiter.tryAcquire("rate_limit:gcra:auth:login", 2, 60));
+        assertEquals(2, redis.calls.get());
+    }
+
+    /**
+     * Redis 不可用时按 permits × 比例在本地限流，而不是全部放行
+     */
+    @Test
+    public void redisFailureFallsBackToConservativeLocalBucket() {
+        ScriptedRedis redis = new ScriptedRedis(call -> {
+            throw new RedisConnectionFailureException("down");
+        });
+        HybridRateLimiter limiter = new HybridRateLimiter(redis, new RateLimitProperties());
+
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            if (limiter.tryAcquire("rate_limit:gcra:auth:login", 10, 60)) {
+                allowed++;
+            }
+        }
+        assertTrue(limiter.isDegraded());
+        assertEquals(5, allowed);
+        assertEquals(1, redis.calls.get());
+    }
+
+    /**
+     * Redis 变慢超过阈值后降级，探测间隔到期且调用恢复正常后切回 Redis
+     */
+    @Test
+    public void slowRedisTripsAndRecoversAfterProbe() throws Exception {
+        ScriptedRedis redis = new ScriptedRedis(call -> {
+            if (call == 1) {
+                sleep(30);
+            }
+            return List.of(1L);
+        });
+        RateLimitProperties props = new RateLimitProperties();
+        props.getFallback().setLatencyThreshold(Duration.ofMillis(10));
+        props.getFallback().setProbeInterval(Duration.ofMillis(100));
+        HybridRateLimiter limiter = new HybridRateLimiter(redis, props);
+
+        assertTrue(limiter.tryAcquire("rate_limit:gcra:captcha:image", 100, 60));
+        assertTrue(limiter.isDegraded());
+        assertTrue(limiter.tryAcquire("rate_limit:gcra:captcha:image", 100, 60));
+        assertEquals(1, redis.calls.get());
+
+        Thread.sleep(150);
+        assertTrue(limiter.tryAcquire("rate_limit:gcra:captcha:image", 100, 60));
+        assertFalse(limiter.isDegraded());
+        assertEquals(2, redis.calls.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 按调用序号（从 1 开始）返回脚本结果的 Redis 替身
+     */
+    private static final class ScriptedRedis extends StringRedisTemplate {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final IntFunction<List<?>> results;
+
+        private ScriptedRedis(IntFunction<List<?>> results) {
+            this.results = results;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+            return (T) results.apply(calls.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package dev.tagtag.framework.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tagtag.framework.config.RateLimitProperties;
+import dev.tagtag.kernel.annotation.RateLimit;
+import dev.tagtag.framework.support.EmbeddedRedisSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 动态限流规则测试：一个节点写入规则后，另一个节点经 Pub/Sub 重载并覆盖注解配置
+ */
+public class RateLimitRulesTest extends EmbeddedRedisSupport {
+
+    private static final RateLimitRule DEFAULTS = new RateLimitRule(true, 10, 60, 0, List.of());
+
+    /**
+     * 写入与删除规则都会广播到其他节点
+     */
+    @Test
+    public void ruleChangesReachOtherNodes() throws InterruptedException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        RateLimitRules nodeA = new RateLimitRules(template, objectMapper, container, new RateLimitProperties());
+        RateLimitRules nodeB = new RateLimitRules(template, objectMapper, container, new RateLimitProperties());
+        RateLimitRule tightened = new RateLimitRule(true, 0, 0, 0,
+                List.of(new RateLimitRule.Dimension(RateLimit.Scope.IP, null, 3, 60, 0)));
+
+        nodeA.put("auth:login", tightened);
+        assertEquals(tightened, nodeA.resolve("auth:login", DEFAULTS));
+        awaitTrue(() -> tightened.equals(nodeB.resolve("auth:login", DEFAULTS)));
+        assertSame(DEFAULTS, nodeB.resolve("auth:register", DEFAULTS));
+
+        nodeA.remove("auth:login");
+        awaitTrue(() -> nodeB.resolve("auth:login", DEFAULTS) == DEFAULTS);
+    }
+
+    /**
+     * 非法规则在写入前被拒绝
+     */
+    @Test
+    public void invalidRuleIsRejected() {
+        RateLimitRules rules = new RateLimitRules(template, new ObjectMapper(), container, new RateLimitProperties());
+        RateLimitRule missingExpression = new RateLimitRule(true, 0, 0, 0,
+                List.of(new RateLimitRule.Dimension(RateLimit.Scope.ARG, "", 3, 60, 0)));
+        assertThrows(IllegalArgumentException.class, () -> rules.put("auth:login", missingExpression));
+        assertThrows(IllegalArgumentException.class,
+                () -> rules.put("auth:login", new RateLimitRule(true, 0, 60, 0, List.of())));
+    }
+}
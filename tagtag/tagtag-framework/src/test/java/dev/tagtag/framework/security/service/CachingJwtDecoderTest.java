@@ -0,0 +1,226 @@
+package dev.tagtag.framework.security.service;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.config.SecurityProperties;
+import dev.tagtag.framework.security.filter.TokenVersionFilter;
+import dev.tagtag.framework.security.strategy.impl.HmacJwtDecoderStrategy;
+import dev.tagtag.kernel.constant.SecurityClaims;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 已验签 JWT 缓存测试：有效期内命中缓存，exp - margin 之后回源，解码失败不缓存；
+ * 命中缓存的令牌仍经过令牌版本与吊销检查
+ */
+public class CachingJwtDecoderTest {
+
+    private static final String SECRET = "caching-jwt-decoder-test-secret-0123456789";
+
+    private final AtomicInteger decodes = new AtomicInteger();
+    private JwtDecoder counting;
+
+    @BeforeEach
+    public void setUp() {
+        JwtProperties props = new JwtProperties();
+        props.setSecret(SECRET);
+        JwtDecoder nimbus = new HmacJwtDecoderStrategy(props).createDecoder();
+        counting = token -> {
+            decodes.incrementAndGet();
+            return nimbus.decode(token);
+        };
+    }
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * 同一令牌重复解码只验签一次，返回同一实例
+     */
+    @Test
+    public void repeatedDecodeHitsCache() throws Exception {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting, 100, Duration.ofSeconds(5), null);
+        String token = sign("jti-hit", 1L, Instant.now().plusSeconds(600));
+
+        Jwt first = decoder.decode(token);
+        Jwt second = decoder.decode(token);
+        assertSame(first, second);
+        assertEquals(1, decodes.get());
+
+        decoder.decode(sign("jti-other", 1L, Instant.now().plusSeconds(600)));
+        assertEquals(2, decodes.get());
+    }
+
+    /**
+     * 条目在 exp - margin 时失效，之后每次回源；距过期不足 margin 的令牌不进入缓存
+     */
+    @Test
+    public void entryExpiresBeforeTokenExp() throws Exception {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting, 100, Duration.ofSeconds(1), null);
+        String token = sign("jti-short", 1L, Instant.now().plusSeconds(3));
+
+        decoder.decode(token);
+        decoder.decode(token);
+        assertEquals(1, decodes.get());
+
+        Thread.sleep(2100);
+        decoder.decode(token);
+        decoder.decode(token);
+        assertEquals(3, decodes.get());
+    }
+
+    /**
+     * 签名错误的令牌每次都交给原解码器并抛出异常
+     */
+    @Test
+    public void failuresAreNotCached() throws Exception {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting, 100, Duration.ofSeconds(5), null);
+        String token = sign("jti-bad", 1L, Instant.now().plusSeconds(600));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> decoder.decode(tampered));
+        assertThrows(JwtException.class, () -> decoder.decode(tampered));
+        assertEquals(2, decodes.get());
+    }
+
+    /**
+     * 清空缓存后重新验签（密钥移除时调用）
+     */
+    @Test
+    public void invalidateAllForcesVerification() throws Exception {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting, 100, Duration.ofSeconds(5), null);
+        String token = sign("jti-rotate", 1L, Instant.now().plusSeconds(600));
+
+        decoder.decode(token);
+        decoder.invalidateAll();
+        decoder.decode(token);
+        assertEquals(2, decodes.get());
+    }
+
+    /**
+     * 缓存只跳过验签：命中缓存的令牌在版本被提升或 jti 被吊销后仍被过滤器拒绝
+     */
+    @Test
+    public void cachedTokenIsStillRejectedWhenSupersededOrRevoked() throws Exception {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting, 100, Duration.ofSeconds(5), null);
+        String token = sign("jti-cached", 1L, Instant.now().plusSeconds(600));
+        decoder.decode(token);
+
+        FixedVersions versions = new FixedVersions(1L);
+        FixedRevocations revocations = new FixedRevocations();
+        TokenVersionFilter filter = new TokenVersionFilter(versions, revocations);
+
+        assertNotNull(authenticateAndFilter(filter, decoder.decode(token)));
+
+        versions.current = 2L;
+        assertNull(authenticateAndFilter(filter, decoder.decode(token)));
+
+        versions.current = 1L;
+        revocations.revoked = Set.of("jti-cached");
+        assertNull(authenticateAndFilter(filter, decoder.decode(token)));
+        assertEquals(1, decodes.get());
+    }
+
+    private static Object authenticateAndFilter(TokenVersionFilter filter, Jwt jwt) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, List.of()));
+        filter.doFilter(stub(HttpServletRequest.class), stub(HttpServletResponse.class), (req, res) -> { });
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static String sign(String jti, long ver, Instant exp) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .jwtID(jti)
+                .issueTime(new Date())
+                .expirationTime(Date.from(exp))
+                .claim(SecurityClaims.UID, 42L)
+                .claim(SecurityClaims.VER, ver)
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SECRET.getBytes(StandardCharsets.UTF_8)));
+        return jwt.serialize();
+    }
+
+    /**
+     * 不带任何状态的 Servlet 接口桩：布尔方法返回 false，其余返回空
+     */
+    private static <T> T stub(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> method.getReturnType() == boolean.class ? Boolean.FALSE : null));
+    }
+
+    /**
+     * 固定返回当前版本的令牌版本服务（关闭本地缓存，不连接 Redis）
+     */
+    private static final class FixedVersions extends TokenVersionService {
+
+        private long current;
+
+        private FixedVersions(long current) {
+            super(null, null, null, localDisabled());
+            this.current = current;
+        }
+
+        @Override
+        public long getCurrentVersion(Long userId) {
+            return current;
+        }
+
+        private static SecurityProperties localDisabled() {
+            SecurityProperties props = new SecurityProperties();
+            props.getTokenVersion().setLocalEnabled(false);
+            return props;
+        }
+    }
+
+    /**
+     * 按集合判定吊销的吊销列表（关闭 Redis 同步，不连接 Redis）
+     */
+    private static final class FixedRevocations extends JtiRevocationList {
+
+        private Set<String> revoked = Set.of();
+
+        private FixedRevocations() {
+            super(null, null, null, revocationDisabled(), new JwtProperties());
+        }
+
+        @Override
+        public boolean isRevoked(String jti, Instant expiresAt) {
+            return revoked.contains(jti);
+        }
+
+        private static SecurityProperties revocationDisabled() {
+            SecurityProperties props = new SecurityProperties();
+            props.getRevocation().setEnabled(false);
+            return props;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package dev.tagtag.framework.security.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.config.SecurityProperties;
+import dev.tagtag.framework.support.EmbeddedRedisSupport;
+import dev.tagtag.kernel.constant.SecurityConstants;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 令牌吊销列表测试：吊销经 Pub/Sub 到达其他节点，新节点从 Redis 位图加载，桶随最后一个令牌过期而丢弃
+ */
+public class JtiRevocationListTest extends EmbeddedRedisSupport {
+
+    /**
+     * Redis 位图按字节高位在前编号，本地副本按同样的偏移置位；超出位图大小的位被忽略
+     */
+    @Test
+    public void redisBitmapLoadsMostSignificantBitFirst() {
+        JtiRevocationList.BloomBucket bucket = new JtiRevocationList.BloomBucket(64);
+        byte[] raw = new byte[9];
+        raw[0] = (byte) 0x81;
+        raw[1] = (byte) 0x40;
+        raw[7] = (byte) 0x01;
+        raw[8] = (byte) 0xFF;
+        bucket.loadRedisBitmap(raw);
+
+        for (long offset : new long[]{0, 7, 9, 63}) {
+            assertTrue(bucket.containsAll(new long[]{offset}), "offset " + offset);
+        }
+        for (long offset : new long[]{1, 6, 8, 10, 62}) {
+            assertFalse(bucket.containsAll(new long[]{offset}), "offset " + offset);
+        }
+    }
+
+    /**
+     * 一个节点吊销后，其他节点经通知判定为已吊销，未吊销的 jti 不受影响
+     */
+    @Test
+    public void revocationReachesOtherNodes() throws InterruptedException {
+        JtiRevocationList nodeA = newList(new SecurityProperties());
+        JtiRevocationList nodeB = newList(new SecurityProperties());
+        Instant exp = Instant.now().plusSeconds(600);
+        assertFalse(nodeB.isRevoked("jti-round-trip", exp));
+
+        nodeA.revoke("jti-round-trip", exp);
+        assertTrue(nodeA.isRevoked("jti-round-trip", exp));
+        awaitTrue(() -> nodeB.isRevoked("jti-round-trip", exp));
+        assertFalse(nodeB.isRevoked("jti-other", exp));
+    }
+
+    /**
+     * 吊销之后启动的节点没有收到通知，加载桶时从 Redis 位图读回
+     */
+    @Test
+    public void newNodeReloadsRevocationsFromRedis() {
+        Instant exp = Instant.now().plusSeconds(600);
+        newList(new SecurityProperties()).revoke("jti-reload", exp);
+
+        JtiRevocationList late = newList(new SecurityProperties());
+        late.preload();
+        assertTrue(late.isRevoked("jti-reload", exp));
+        assertFalse(late.isRevoked("jti-not-revoked", exp));
+    }
+
+    /**
+     * 桶位图在桶内最后一个令牌过期时从 Redis 删除；已过期的令牌不再写入
+     */
+    @Test
+    public void bucketExpiresWithItsTokens() throws InterruptedException {
+        Set<String> existing = template.keys(SecurityConstants.TOKEN_REVOKED_KEY_PREFIX + "*");
+        if (existing != null && !existing.isEmpty()) {
+            template.delete(existing);
+        }
+        SecurityProperties props = new SecurityProperties();
+        props.getRevocation().setBucketWidth(Duration.ofSeconds(1));
+        JtiRevocationList list = newList(props);
+        Instant exp = Instant.now().plusMillis(300);
+        list.revoke("jti-short", exp);
+        Set<String> keys = template.keys(SecurityConstants.TOKEN_REVOKED_KEY_PREFIX + "*");
+        assertFalse(keys == null || keys.isEmpty());
+
+        awaitTrue(() -> keys.stream().noneMatch(k -> Boolean.TRUE.equals(template.hasKey(k))));
+        assertFalse(newList(props).isRevoked("jti-short", exp));
+
+        list.revoke("jti-expired", Instant.now().minusSeconds(1));
+        assertFalse(list.isRevoked("jti-expired", Instant.now().minusSeconds(1)));
+    }
+
+    /**
+     * 一次性令牌只能消费一次，已吊销的令牌不能再消费
+     */
+    @Test
+    public void consumeSucceedsOnceAndNotAfterRevoke() {
+        JtiRevocationList list = newList(new SecurityProperties());
+        Instant exp = Instant.now().plusSeconds(600);
+        assertTrue(list.consume("jti-refresh", exp));
+        assertFalse(list.consume("jti-refresh", exp));
+        assertTrue(list.isRevoked("jti-refresh", exp));
+
+        list.revoke("jti-revoked-refresh", exp);
+        assertFalse(list.consume("jti-revoked-refresh", exp));
+    }
+
+    private static JtiRevocationList newList(SecurityProperties props) {
+        return new JtiRevocationList(template, new ObjectMapper(), container, props, new JwtProperties());
+    }
+}
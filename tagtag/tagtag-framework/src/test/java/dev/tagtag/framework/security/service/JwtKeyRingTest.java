@@ -0,0 +1,88 @@
+package dev.tagtag.framework.security.service;
+
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.SignedJWT;
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.strategy.impl.KeyRingJwtSignerStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 密钥轮换测试：JWKS 文件更换签名密钥后，以 exp 保留的旧 kid 签发的令牌在到期前仍可验证
+ */
+public class JwtKeyRingTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * 轮换后新令牌使用新 kid，旧令牌继续通过验签；直接删除的 kid 立即失效
+     */
+    @Test
+    public void retiredKeyStillVerifiesAfterRotation() throws Exception {
+        ECKey oldKey = new ECKeyGenerator(Curve.P_256).keyID("k1").generate();
+        ECKey newKey = new ECKeyGenerator(Curve.P_256).keyID("k2").generate();
+        Path jwks = dir.resolve("jwks.json");
+        Files.writeString(jwks, new JWKSet(oldKey).toString(false));
+
+        JwtProperties props = new JwtProperties();
+        props.setJwksPath(jwks.toString());
+        JwtKeyRing keyRing = new JwtKeyRing(props);
+        JwtService jwtService = new JwtService(props, new KeyRingJwtSignerStrategy(keyRing));
+        String oldToken = jwtService.generateToken(Map.of(), "admin", 3600);
+        assertEquals("k1", SignedJWT.parse(oldToken).getHeader().getKeyID());
+
+        ECKey retiredKey = new ECKey.Builder(oldKey.toPublicJWK())
+                .expirationTime(Date.from(Instant.now().plusSeconds(3600)))
+                .build();
+        Files.writeString(jwks, new JWKSet(List.of(newKey, retiredKey)).toString(false));
+        keyRing.reload();
+
+        String newToken = jwtService.generateToken(Map.of(), "admin", 3600);
+        assertEquals("k2", SignedJWT.parse(newToken).getHeader().getKeyID());
+        assertNotNull(jwtService.verify(newToken));
+        assertNotNull(jwtService.verify(oldToken));
+
+        Files.writeString(jwks, new JWKSet(newKey).toString(false));
+        keyRing.reload();
+        assertFalse(keyRing.verify(SignedJWT.parse(oldToken)));
+    }
+
+    /**
+     * 未知 kid 的令牌被拒绝
+     */
+    @Test
+    public void unknownKidIsRejected() throws Exception {
+        ECKey known = new ECKeyGenerator(Curve.P_256).keyID("k1").generate();
+        ECKey foreign = new ECKeyGenerator(Curve.P_256).keyID("other").generate();
+        Path jwks = dir.resolve("jwks.json");
+        Files.writeString(jwks, new JWKSet(foreign).toString(false));
+        JwtProperties foreignProps = new JwtProperties();
+        foreignProps.setJwksPath(jwks.toString());
+        String foreignToken = new JwtService(foreignProps, new KeyRingJwtSignerStrategy(new JwtKeyRing(foreignProps)))
+                .generateToken(Map.of(), "admin", 3600);
+
+        Path ownJwks = dir.resolve("own.json");
+        Files.writeString(ownJwks, new JWKSet(known).toString(false));
+        JwtProperties props = new JwtProperties();
+        props.setJwksPath(ownJwks.toString());
+        JwtKeyRing keyRing = new JwtKeyRing(props);
+        assertNull(new JwtService(props, new KeyRingJwtSignerStrategy(keyRing)).verify(foreignToken));
+        assertFalse(keyRing.verify(SignedJWT.parse(foreignToken)));
+    }
+}
@@ -0,0 +1,119 @@
+package dev.tagtag.framework.security.service;
+
+import dev.tagtag.framework.config.SecurityProperties;
+import dev.tagtag.framework.support.EmbeddedRedisSupport;
+import dev.tagtag.kernel.constant.SecurityConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 权限位图测试：多节点共享只追加的字典，编码后在任一节点解码得到原权限；字典丢失后旧位图解码为空
+ */
+public class PermissionDictionaryTest extends EmbeddedRedisSupport {
+
+    @BeforeEach
+    public void clearDictionary() {
+        template.delete(List.of(SecurityConstants.PERM_DICT_KEY, SecurityConstants.PERM_DICT_INDEX_KEY,
+                SecurityConstants.PERM_DICT_EPOCH_KEY));
+    }
+
+    /**
+     * 一个节点编码的位图在另一个节点解码结果一致，后续分配的下标不改变已签发位图的含义
+     */
+    @Test
+    public void encodedBitsDecodeIdenticallyOnEveryNode() {
+        PermissionDictionary nodeA = newDictionary(template);
+        PermissionDictionary nodeB = newDictionary(template);
+
+        String first = nodeA.encode(List.of("sys:user:list", "sys:user:add"));
+        assertEquals(Set.of("sys:user:list", "sys:user:add"), nodeB.decode(first));
+
+        String second = nodeB.encode(List.of("sys:role:list", "sys:user:list"));
+        assertEquals(Set.of("sys:role:list", "sys:user:list"), nodeA.decode(second));
+        assertEquals(Set.of("sys:user:list", "sys:user:add"), nodeA.decode(first));
+        assertEquals(Set.of("sys:user:list", "sys:user:add"), newDictionary(template).decode(first));
+    }
+
+    /**
+     * 空权限与格式错误的声明解码为空集合
+     */
+    @Test
+    public void emptyAndMalformedValuesDecodeToNothing() {
+        PermissionDictionary dictionary = newDictionary(template);
+        String empty = dictionary.encode(List.of());
+        assertEquals(Set.of(), dictionary.decode(empty));
+        assertEquals(Set.of(), dictionary.decode(null));
+        assertEquals(Set.of(), dictionary.decode("no-separator"));
+        assertEquals(Set.of(), dictionary.decode(empty.substring(0, empty.indexOf('.')) + ".!!"));
+    }
+
+    /**
+     * Redis 字典丢失后重建为新纪元：旧位图在任何节点都解码为空，不会按新字典映射到其他权限
+     */
+    @Test
+    public void lostDictionaryStartsNewEpochAndOldBitsDecodeEmpty() {
+        PermissionDictionary nodeA = newDictionary(template);
+        String old = nodeA.encode(List.of("sys:user:delete"));
+
+        clearDictionary();
+        PermissionDictionary nodeB = newDictionary(template);
+        String fresh = nodeB.encode(List.of("sys:user:list"));
+        assertNotEquals(old.substring(0, old.indexOf('.')), fresh.substring(0, fresh.indexOf('.')));
+        assertEquals(Set.of(), nodeB.decode(old));
+
+        assertEquals(Set.of("sys:user:list"), nodeA.decode(fresh));
+        assertEquals(Set.of(), nodeA.decode(old));
+    }
+
+    /**
+     * 已确认过期的纪元记在本地，之后的旧位图不再回源 Redis
+     */
+    @Test
+    public void staleEpochIsRememberedLocally() {
+        String old = newDictionary(template).encode(List.of("sys:user:list"));
+        clearDictionary();
+        newDictionary(template).encode(List.of("sys:user:list"));
+
+        CountingTemplate counting = new CountingTemplate();
+        PermissionDictionary dictionary = newDictionary(counting);
+        assertEquals(Set.of(), dictionary.decode(old));
+        int reads = counting.valueReads.get();
+        assertTrue(reads > 0);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Set.of(), dictionary.decode(old));
+        }
+        assertEquals(reads, counting.valueReads.get());
+    }
+
+    private static PermissionDictionary newDictionary(StringRedisTemplate redis) {
+        return new PermissionDictionary(redis, new SecurityProperties());
+    }
+
+    /**
+     * 统计纪元读取次数的 Redis 模板
+     */
+    private static final class CountingTemplate extends StringRedisTemplate {
+
+        private final AtomicInteger valueReads = new AtomicInteger();
+
+        private CountingTemplate() {
+            super(connectionFactory);
+        }
+
+        @Override
+        public ValueOperations<String, String> opsForValue() {
+            valueReads.incrementAndGet();
+            return super.opsForValue();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package dev.tagtag.framework.security.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tagtag.framework.config.SecurityProperties;
+import dev.tagtag.framework.support.EmbeddedRedisSupport;
+import dev.tagtag.kernel.constant.SecurityConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 令牌版本测试：稳态读取不访问 Redis，提升版本经 Pub/Sub 到达其他节点，本地版本只增不减
+ */
+public class TokenVersionServiceTest extends EmbeddedRedisSupport {
+
+    /**
+     * 未提升过的用户版本为 1，首次读取回源后不再访问 Redis
+     */
+    @Test
+    public void steadyStateReadsStayLocal() {
+        CountingTemplate counting = new CountingTemplate();
+        TokenVersionService service = newService(counting, new SecurityProperties());
+
+        assertEquals(1L, service.getCurrentVersion(1001L));
+        int reads = counting.valueReads.get();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(service.isTokenVersionValid(1001L, 1L));
+        }
+        assertEquals(reads, counting.valueReads.get());
+    }
+
+    /**
+     * 一个节点提升版本后，已缓存旧版本的其他节点经通知拒绝旧令牌
+     */
+    @Test
+    public void bumpReachesOtherNodes() throws InterruptedException {
+        TokenVersionService nodeA = newService(template, new SecurityProperties());
+        TokenVersionService nodeB = newService(template, new SecurityProperties());
+        long before = nodeB.getCurrentVersion(1002L);
+
+        long bumped = nodeA.bumpVersion(1002L);
+        assertEquals(before + 1, bumped);
+        assertEquals(bumped, nodeA.getCurrentVersion(1002L));
+        awaitTrue(() -> nodeB.getCurrentVersion(1002L) == bumped);
+        assertFalse(nodeB.isTokenVersionValid(1002L, before));
+    }
+
+    /**
+     * 迟到的旧版本通知不会覆盖本地已知的新版本
+     */
+    @Test
+    public void staleNotificationDoesNotLowerVersion() throws Exception {
+        TokenVersionService service = newService(template, new SecurityProperties());
+        long current = service.bumpVersion(1003L);
+
+        byte[] body = new ObjectMapper().writeValueAsBytes(new TokenVersionService.VersionMessage(1003L, current - 1));
+        service.onMessage(new DefaultMessage(SecurityConstants.TOKEN_VERSION_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+        assertEquals(current, service.getCurrentVersion(1003L));
+    }
+
+    /**
+     * 关闭本地缓存时每次读取 Redis，其他节点的提升立即可见
+     */
+    @Test
+    public void disabledLocalCacheReadsRedis() {
+        SecurityProperties props = new SecurityProperties();
+        props.getTokenVersion().setLocalEnabled(false);
+        CountingTemplate counting = new CountingTemplate();
+        TokenVersionService service = newService(counting, props);
+
+        long before = service.getCurrentVersion(1004L);
+        newService(template, props).bumpVersion(1004L);
+        assertEquals(before + 1, service.getCurrentVersion(1004L));
+        assertEquals(2, counting.valueReads.get());
+    }
+
+    private static TokenVersionService newService(StringRedisTemplate redis, SecurityProperties props) {
+        return new TokenVersionService(redis, new ObjectMapper(), container, props);
+    }
+
+    /**
+     * 统计版本读取次数的 Redis 模板
+     */
+    private static final class CountingTemplate extends StringRedisTemplate {
+
+        private final AtomicInteger valueReads = new AtomicInteger();
+
+        private CountingTemplate() {
+            super(connectionFactory);
+        }
+
+        @Override
+        public ValueOperations<String, String> opsForValue() {
+            valueReads.incrementAndGet();
+            return super.opsForValue();
+        }
+    }
+}
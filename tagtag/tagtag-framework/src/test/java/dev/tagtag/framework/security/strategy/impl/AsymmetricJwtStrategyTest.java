@@ -0,0 +1,176 @@
+package dev.tagtag.framework.security.strategy.impl;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.service.JwtKeyRing;
+import dev.tagtag.framework.security.service.JwtService;
+import dev.tagtag.framework.security.util.Ed25519JwsSigner;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ES256 / EdDSA 策略测试：签名策略签发的令牌能被对应解码策略验证，算法、密钥或 kid 不匹配的令牌被拒绝
+ */
+public class AsymmetricJwtStrategyTest {
+
+    private static final String HMAC_SECRET = "asymmetric-jwt-strategy-test-secret-0123";
+
+    /**
+     * ES256 签发的令牌经签名策略与解码策略验证，头部算法为 ES256
+     */
+    @Test
+    public void es256RoundTrip() throws Exception {
+        JwtProperties props = properties("ES256", ecKeyPair());
+        String token = new JwtService(props, new EcJwtSignerStrategy(props)).generateToken(Map.of("uid", 7L), "admin", 600);
+
+        assertEquals(JWSAlgorithm.ES256, SignedJWT.parse(token).getHeader().getAlgorithm());
+        assertNotNull(new JwtService(props, new EcJwtSignerStrategy(props)).verify(token));
+        Jwt jwt = new EcJwtDecoderStrategy(props).createDecoder().decode(token);
+        assertEquals("admin", jwt.getSubject());
+    }
+
+    /**
+     * EdDSA 签发的令牌经签名策略与解码策略验证，头部算法为 EdDSA
+     */
+    @Test
+    public void ed25519RoundTrip() throws Exception {
+        JwtProperties props = properties("EdDSA", ed25519KeyPair());
+        String token = new JwtService(props, new Ed25519JwtSignerStrategy(props)).generateToken(Map.of("uid", 7L), "admin", 600);
+
+        assertEquals(JWSAlgorithm.EdDSA, SignedJWT.parse(token).getHeader().getAlgorithm());
+        assertNotNull(new JwtService(props, new Ed25519JwtSignerStrategy(props)).verify(token));
+        Jwt jwt = new Ed25519JwtDecoderStrategy(props).createDecoder().decode(token);
+        assertEquals("admin", jwt.getSubject());
+    }
+
+    /**
+     * 解码器只接受配置的算法：其他非对称算法与用公钥当 HMAC 密钥的令牌都被拒绝
+     */
+    @Test
+    public void wrongAlgorithmIsRejected() throws Exception {
+        JwtProperties ec = properties("ES256", ecKeyPair());
+        JwtProperties ed = properties("EdDSA", ed25519KeyPair());
+        String ecToken = new JwtService(ec, new EcJwtSignerStrategy(ec)).generateToken(Map.of(), "admin", 600);
+        String edToken = new JwtService(ed, new Ed25519JwtSignerStrategy(ed)).generateToken(Map.of(), "admin", 600);
+        JwtDecoder ecDecoder = new EcJwtDecoderStrategy(ec).createDecoder();
+        JwtDecoder edDecoder = new Ed25519JwtDecoderStrategy(ed).createDecoder();
+
+        assertThrows(JwtException.class, () -> ecDecoder.decode(edToken));
+        assertThrows(JwtException.class, () -> edDecoder.decode(ecToken));
+        assertThrows(JwtException.class, () -> ecDecoder.decode(sign(JWSAlgorithm.HS256, null,
+                new MACSigner(ec.getPublicKeyPem().getBytes(StandardCharsets.UTF_8)))));
+        assertThrows(JwtException.class, () -> edDecoder.decode(sign(JWSAlgorithm.HS256, null,
+                new MACSigner(HMAC_SECRET.getBytes(StandardCharsets.UTF_8)))));
+        assertNull(new JwtService(ec, new EcJwtSignerStrategy(ec)).verify(edToken));
+    }
+
+    /**
+     * 同算法但由其他密钥签名的令牌被拒绝
+     */
+    @Test
+    public void foreignKeyIsRejected() throws Exception {
+        JwtProperties own = properties("EdDSA", ed25519KeyPair());
+        JwtProperties foreign = properties("EdDSA", ed25519KeyPair());
+        String foreignToken = new JwtService(foreign, new Ed25519JwtSignerStrategy(foreign)).generateToken(Map.of(), "admin", 600);
+        assertThrows(JwtException.class, () -> new Ed25519JwtDecoderStrategy(own).createDecoder().decode(foreignToken));
+
+        JwtProperties ownEc = properties("ES256", ecKeyPair());
+        JwtProperties foreignEc = properties("ES256", ecKeyPair());
+        String foreignEcToken = new JwtService(foreignEc, new EcJwtSignerStrategy(foreignEc)).generateToken(Map.of(), "admin", 600);
+        assertThrows(JwtException.class, () -> new EcJwtDecoderStrategy(ownEc).createDecoder().decode(foreignEcToken));
+    }
+
+    /**
+     * 密钥环按 kid 验签：kid 与算法不符、kid 对应密钥不符或 kid 未知的令牌都被拒绝
+     */
+    @Test
+    public void wrongKidIsRejectedByKeyRing() throws Exception {
+        KeyPair edPair = ed25519KeyPair();
+        KeyPair ecPair = ecKeyPair();
+        JwtProperties props = new JwtProperties();
+        props.setKeys(List.of(key("ed", "EdDSA", edPair), key("ec", "ES256", ecPair)));
+        props.setActiveKid("ed");
+        JwtKeyRing keyRing = new JwtKeyRing(props);
+        JwtDecoder decoder = new KeyRingJwtDecoderStrategy(keyRing).createDecoder();
+
+        String token = new JwtService(props, new KeyRingJwtSignerStrategy(keyRing)).generateToken(Map.of(), "admin", 600);
+        assertEquals("ed", SignedJWT.parse(token).getHeader().getKeyID());
+        assertNotNull(decoder.decode(token));
+        assertNotNull(decoder.decode(sign(JWSAlgorithm.ES256, "ec", new ECDSASigner((ECPrivateKey) ecPair.getPrivate()))));
+
+        Ed25519JwsSigner edSigner = new Ed25519JwsSigner(edPair.getPrivate());
+        assertThrows(JwtException.class, () -> decoder.decode(sign(JWSAlgorithm.EdDSA, "ec", edSigner)));
+        assertThrows(JwtException.class, () -> decoder.decode(sign(JWSAlgorithm.EdDSA, "unknown", edSigner)));
+        Ed25519JwsSigner foreign = new Ed25519JwsSigner(ed25519KeyPair().getPrivate());
+        assertThrows(JwtException.class, () -> decoder.decode(sign(JWSAlgorithm.EdDSA, "ed", foreign)));
+        assertFalse(keyRing.verify(SignedJWT.parse(sign(JWSAlgorithm.ES256, "ed", new ECDSASigner((ECPrivateKey) ecPair.getPrivate())))));
+    }
+
+    private static String sign(JWSAlgorithm alg, String kid, JWSSigner signer) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("admin")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plusSeconds(600)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(alg).keyID(kid).build(), claims);
+        jwt.sign(signer);
+        return jwt.serialize();
+    }
+
+    private static JwtProperties properties(String algorithm, KeyPair pair) {
+        JwtProperties props = new JwtProperties();
+        props.setAlgorithm(algorithm);
+        props.setPrivateKeyPem(pem("PRIVATE KEY", pair.getPrivate().getEncoded()));
+        props.setPublicKeyPem(pem("PUBLIC KEY", pair.getPublic().getEncoded()));
+        return props;
+    }
+
+    private static JwtProperties.Key key(String kid, String algorithm, KeyPair pair) {
+        JwtProperties.Key key = new JwtProperties.Key();
+        key.setKid(kid);
+        key.setAlgorithm(algorithm);
+        key.setPrivateKeyPem(pem("PRIVATE KEY", pair.getPrivate().getEncoded()));
+        key.setPublicKeyPem(pem("PUBLIC KEY", pair.getPublic().getEncoded()));
+        return key;
+    }
+
+    private static KeyPair ecKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+
+    private static KeyPair ed25519KeyPair() throws Exception {
+        return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    }
+
+    private static String pem(String type, byte[] der) {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der);
+        return "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n";
+    }
+}
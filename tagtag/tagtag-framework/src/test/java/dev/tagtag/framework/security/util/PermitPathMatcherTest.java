@@ -0,0 +1,91 @@
+package dev.tagtag.framework.security.util;
+
+import dev.tagtag.kernel.constant.SecurityConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 公开路径匹配器测试：与 Spring PathPatternParser 的匹配结果逐条对照
+ */
+public class PermitPathMatcherTest {
+
+    private static final List<String> PATTERNS = patterns();
+
+    private static final List<String> PATHS = List.of(
+            "/", "//", "/api", "/api/", "/api/auth/login", "/api/auth/login/", "/api/auth/login/x",
+            "/api/auth/Login", "/api/auth//login", "/api/auth/login;jsessionid=1", "/api/auth/log%69n",
+            "/api/captcha", "/api/captcha/", "/api/captcha/image", "/api/captcha/a/b/c", "/api/captchas",
+            "/v3/api-docs", "/v3/api-docs/swagger-config", "/scalar/index.html", "/index.html", "/index.htm",
+            "/favicon.ico", "/static", "/static/", "/static/a/b.css", "/css/app.css", "/js/app.js",
+            "/images/logo.png", "/api/auth/tools/hash", "/api/storage/files/view/2024/a.png",
+            "/api/storage/files/view", "/api/storage/files/download/a.png",
+            "/a", "/a/", "/a/b", "/a/b/", "/a/;x", "/a/b/c", "/a//c", "/a/x/c", "/a/%20/c",
+            "/assets/app.js", "/assets/app.js.map", "/assets/.js", "/assets/sub/app.js",
+            "/files/report1.txt", "/files/report12.txt", "/files/42.json", "/files/abc.json",
+            "/orders/42", "/orders/abc", "/orders/", "/docs", "/docs/", "/docs/a/b", "/api/sys/user/page");
+
+    private static List<String> patterns() {
+        List<String> patterns = new ArrayList<>(SecurityConstants.DEFAULT_PUBLIC_PATHS);
+        patterns.addAll(List.of("/actuator/health", "/actuator/info", "/api/storage/files/view/**",
+                "/a/*", "/a/{id}/c", "/assets/*.js", "/files/report?.txt", "/files/{name}.json",
+                "/orders/{id:\\d+}", "/docs/{*rest}"));
+        return patterns;
+    }
+
+    /**
+     * 每条规则单独编译，结果与 PathPattern.matches 一致
+     */
+    @Test
+    public void eachPatternMatchesLikePathPattern() {
+        for (String pattern : PATTERNS) {
+            PermitPathMatcher matcher = PermitPathMatcher.compile(List.of(pattern));
+            PathPattern expected = PathPatternParser.defaultInstance.parse(pattern);
+            for (String path : PATHS) {
+                assertEquals(expected.matches(PathContainer.parsePath(path)), matcher.matches(path),
+                        () -> pattern + " vs " + path);
+            }
+        }
+    }
+
+    /**
+     * 全部规则编译为一棵树，结果与逐条 PathPattern 匹配的"任一命中"一致
+     */
+    @Test
+    public void compiledTrieMatchesAnyPathPattern() {
+        PermitPathMatcher matcher = PermitPathMatcher.compile(PATTERNS);
+        List<PathPattern> expected = PATTERNS.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        for (String path : PATHS) {
+            PathContainer container = PathContainer.parsePath(path);
+            boolean any = expected.stream().anyMatch(p -> p.matches(container));
+            assertEquals(any, matcher.matches(path), path);
+        }
+    }
+
+    /**
+     * 非末尾的 "**" 与 PathPatternParser 一样拒绝编译
+     */
+    @Test
+    public void rejectsDoubleWildcardInTheMiddle() {
+        assertThrows(IllegalArgumentException.class, () -> PermitPathMatcher.compile(List.of("/a/**/b")));
+    }
+
+    /**
+     * 空规则与非 "/" 开头的路径不命中
+     */
+    @Test
+    public void emptyAndRelativePathsDoNotMatch() {
+        assertFalse(PermitPathMatcher.compile(List.of()).matches("/api/auth/login"));
+        assertFalse(PermitPathMatcher.compile(PATTERNS).matches("api/auth/login"));
+        assertTrue(PermitPathMatcher.compile(PATTERNS).matches("/api/auth/login"));
+    }
+}
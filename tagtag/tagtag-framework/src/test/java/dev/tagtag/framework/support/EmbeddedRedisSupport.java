@@ -0,0 +1,67 @@
+package dev.tagtag.framework.support;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 内嵌 Redis 测试基类：每个测试类启动一个独立端口的 Redis，提供连接工厂、模板与消息订阅容器
+ * 子类自己的 @BeforeAll 在本类之后执行，可直接使用这里的连接。
+ */
+public abstract class EmbeddedRedisSupport {
+
+    protected static RedisServer redisServer;
+    protected static LettuceConnectionFactory connectionFactory;
+    protected static StringRedisTemplate template;
+    protected static RedisMessageListenerContainer container;
+
+    @BeforeAll
+    public static void startRedis() throws IOException {
+        int port = freePort();
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        template = new StringRedisTemplate(connectionFactory);
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @AfterAll
+    public static void stopRedis() throws Exception {
+        container.destroy();
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    /**
+     * 等待条件成立（最多 2 秒），超时仍不成立则断言失败
+     * @param condition 条件
+     */
+    protected static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
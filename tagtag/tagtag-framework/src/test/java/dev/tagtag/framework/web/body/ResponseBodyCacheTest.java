@@ -0,0 +1,146 @@
+package dev.tagtag.framework.web.body;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.tagtag.framework.cache.CacheVersions;
+import dev.tagtag.framework.cache.TwoLevelCacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 响应体缓存测试：同版本复用字节，版本变化或超过 L1 TTL 后重建，ETag 与 Accept-Encoding 解析
+ */
+public class ResponseBodyCacheTest {
+
+    private static final String CACHE = "menuTree";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger renders = new AtomicInteger();
+    private CacheVersions versions;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp() {
+        versions = new CacheVersions();
+        cacheManager = new TwoLevelCacheManager(new ConcurrentMapCacheManager(),
+                name -> Caffeine.newBuilder().maximumSize(10).build(),
+                new StringRedisTemplate(), objectMapper, versions);
+    }
+
+    /**
+     * 版本不变时复用已序列化的字节，输出与直接序列化一致
+     */
+    @Test
+    public void sameVersionReusesBytes() throws Exception {
+        ResponseBodyCache cache = newCache(true, Duration.ofMinutes(5));
+        ResponseEntity<SerializedBody<Object>> first = cache.respond("tree", CACHE, this::body);
+        ResponseEntity<SerializedBody<Object>> second = cache.respond("tree", CACHE, this::body);
+
+        assertEquals(1, renders.get());
+        assertArrayEquals(objectMapper.writeValueAsBytes(Map.of("id", 1)), second.getBody().getBytes());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+    }
+
+    /**
+     * 数据来源缓存版本递增（驱逐、清空或收到失效广播）后重建
+     */
+    @Test
+    public void versionChangeRebuilds() {
+        ResponseBodyCache cache = newCache(true, Duration.ofMinutes(5));
+        cache.respond("tree", CACHE, this::body);
+        cacheManager.clearLocal(CACHE);
+        cache.respond("tree", CACHE, this::body);
+        cache.respond("tree", CACHE, this::body);
+
+        assertEquals(1L, versions.current(CACHE));
+        assertEquals(2, renders.get());
+    }
+
+    /**
+     * 版本未变但超过数据来源缓存的 L1 TTL 后重建（失效广播丢失时的兜底）
+     */
+    @Test
+    public void entryExpiresWithLocalTtl() throws InterruptedException {
+        ResponseBodyCache cache = newCache(true, Duration.ofMillis(50));
+        cache.respond("tree", CACHE, this::body);
+        Thread.sleep(120);
+        cache.respond("tree", CACHE, this::body);
+
+        assertEquals(2, renders.get());
+    }
+
+    /**
+     * 键为空或未开启缓存时每次重新序列化
+     */
+    @Test
+    public void uncacheableRequestsRenderEveryTime() {
+        ResponseBodyCache cache = newCache(true, Duration.ofMinutes(5));
+        cache.respond(null, CACHE, this::body);
+        cache.respond(null, CACHE, this::body);
+        ResponseBodyCache disabled = newCache(false, Duration.ofMinutes(5));
+        disabled.respond("tree", CACHE, this::body);
+        disabled.respond("tree", CACHE, this::body);
+
+        assertEquals(4, renders.get());
+    }
+
+    /**
+     * 不同内容的 ETag 不同
+     */
+    @Test
+    public void etagFollowsContent() {
+        ResponseBodyCache cache = newCache(true, Duration.ofMinutes(5));
+        String a = cache.respond("a", CACHE, () -> List.of(1)).getHeaders().getETag();
+        String b = cache.respond("b", CACHE, () -> List.of(2)).getHeaders().getETag();
+
+        assertNotEquals(a, b);
+        assertTrue(a.startsWith("\"") && a.endsWith("\""));
+    }
+
+    /**
+     * If-None-Match 支持多个值、弱标记与 *
+     */
+    @Test
+    public void ifNoneMatchComparison() {
+        assertTrue(ResponseBodyCache.matches("\"abc\"", "\"abc\""));
+        assertTrue(ResponseBodyCache.matches("\"x\", W/\"abc\"", "\"abc\""));
+        assertTrue(ResponseBodyCache.matches("*", "\"abc\""));
+        assertFalse(ResponseBodyCache.matches("\"abd\"", "\"abc\""));
+        assertFalse(ResponseBodyCache.matches(" ", "\"abc\""));
+    }
+
+    /**
+     * Accept-Encoding 中 q=0 的 gzip 视为拒绝
+     */
+    @Test
+    public void acceptEncodingParsing() {
+        assertTrue(ResponseBodyCache.acceptsGzip("br, gzip"));
+        assertTrue(ResponseBodyCache.acceptsGzip("GZIP;q=0.5"));
+        assertFalse(ResponseBodyCache.acceptsGzip("gzip;q=0"));
+        assertFalse(ResponseBodyCache.acceptsGzip("deflate"));
+        assertFalse(ResponseBodyCache.acceptsGzip(null));
+    }
+
+    private ResponseBodyCache newCache(boolean enabled, Duration ttl) {
+        return new ResponseBodyCache(objectMapper, versions, enabled, 100, 1024, name -> ttl);
+    }
+
+    private Object body() {
+        renders.incrementAndGet();
+        return Map.of("id", 1);
+    }
+}
@@ -5,6 +5,11 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * 接口限流（GCRA）：permits / periodSeconds 为平均速率，burst 为允许的突发量（默认等于 permits）
+ * 声明 dimensions 时按各维度同时限流（一次 Redis 调用，任一维度超限即拒绝），此时 key 仅作为维度键的名称前缀，
+ * 顶层的 permits / periodSeconds / burst 不再生效。
+ */
 @Target({ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface RateLimit {
@@ -17,5 +22,37 @@ public @interface RateLimit {
 
     int permits() default 10;
 
+    int burst() default 0;
+
+    Dimension[] dimensions() default {};
+
     String message() default "请求过于频繁，请稍后再试";
+
+    /**
+     * 限流维度
+     */
+    @Target({})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Dimension {
+
+        Scope scope();
+
+        /** scope 为 ARG 时的 SpEL 表达式（如 "#req.username"），结果为空时跳过该维度 */
+        String expression() default "";
+
+        int periodSeconds() default 60;
+
+        int permits();
+
+        int burst() default 0;
+    }
+
+    /**
+     * 维度范围：全局、客户端 IP、方法参数
+     */
+    enum Scope {
+        GLOBAL,
+        IP,
+        ARG
+    }
 }
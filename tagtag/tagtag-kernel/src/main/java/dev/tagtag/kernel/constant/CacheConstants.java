@@ -31,6 +31,12 @@ public class CacheConstants {
     public static final Duration DEPT_TREE_TTL = Duration.ofMinutes(30);
     public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
     public static final String RATE_LIMIT_KEY_PREFIX = "rate_limit:";
+    public static final String RATE_LIMIT_GCRA_KEY_PREFIX = RATE_LIMIT_KEY_PREFIX + "gcra:";
+    public static final String CACHE_INVALIDATION_CHANNEL = PREFIX + SEPARATOR + "cache" + SEPARATOR + "invalidate";
+    public static final String RATE_LIMIT_RULES_KEY = PREFIX + SEPARATOR + RATE_LIMIT + SEPARATOR + "rules";
+    public static final String RATE_LIMIT_RULES_CHANNEL = PREFIX + SEPARATOR + RATE_LIMIT + SEPARATOR + "rules" + SEPARATOR + "changed";
+    public static final String HEAVY_HITTER_BLOCKED_KEY = PREFIX + SEPARATOR + RATE_LIMIT + SEPARATOR + "blocked";
+    public static final String CACHE_GENERATION_CHANNEL = PREFIX + SEPARATOR + "cache" + SEPARATOR + "gen";
 
     public static String compose(String... segments) {
         Objects.requireNonNull(segments, "segments");
@@ -52,4 +58,15 @@ public class CacheConstants {
         Objects.requireNonNull(uuid, "uuid");
         return compose(PREFIX, CAPTCHA, "img", uuid.trim());
     }
+
+    public static String keyCacheGeneration(String cacheName) {
+        Objects.requireNonNull(cacheName, "cacheName");
+        return compose(PREFIX, cacheName.trim(), "gen");
+    }
+
+    public static String keyCacheLease(String cacheName, String key) {
+        Objects.requireNonNull(cacheName, "cacheName");
+        Objects.requireNonNull(key, "key");
+        return compose(PREFIX, cacheName.trim(), "lease", key);
+    }
 }
@@ -8,6 +8,8 @@ public final class SecurityClaims {
     public static final String UNAME = "uname";
     public static final String ROLES = "roles";
     public static final String PERMS = "perms";
+    /** 压缩的权限声明：字典纪元 + "." + 权限位图（base64url） */
+    public static final String PERM_BITS = "pbits";
     public static final String VER = "ver";
     public static final String TYP = "typ";
     public static final String IS_ADMIN = "is_admin";
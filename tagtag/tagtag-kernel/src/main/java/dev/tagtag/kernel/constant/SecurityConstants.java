@@ -26,6 +26,15 @@ public final class SecurityConstants {
 
     public static final String PERMIT_PATHS_PROPERTY = "security.permit-paths";
     public static final String URL_PATTERN_ALL = "/**";
+    public static final String ACTUATOR_PATTERN = "/actuator/**";
     public static final String X_FORWARDED_FOR = "X-Forwarded-For";
     public static final String X_REAL_IP = "X-Real-IP";
+    public static final String TOKEN_VERSION_KEY_PREFIX = "token:ver:";
+    public static final String TOKEN_VERSION_CHANNEL = "tagtag:token:ver";
+    public static final String TOKEN_REVOKED_KEY_PREFIX = "token:revoked:";
+    public static final String TOKEN_REVOKED_CHANNEL = "tagtag:token:revoked";
+    public static final String TOKEN_CONSUMED_KEY_PREFIX = "token:consumed:";
+    public static final String PERM_DICT_KEY = "perm:dict";
+    public static final String PERM_DICT_INDEX_KEY = "perm:dict:index";
+    public static final String PERM_DICT_EPOCH_KEY = "perm:dict:epoch";
 }
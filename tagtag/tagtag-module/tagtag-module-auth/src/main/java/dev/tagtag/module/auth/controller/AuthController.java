@@ -11,6 +11,8 @@ import dev.tagtag.contract.iam.dto.MenuDTO;
 import dev.tagtag.contract.iam.dto.UserDTO;
 import dev.tagtag.framework.security.context.AuthContext;
 import dev.tagtag.framework.security.model.UserPrincipal;
+import dev.tagtag.framework.web.body.ResponseBodyCache;
+import dev.tagtag.framework.web.body.SerializedBody;
 import dev.tagtag.kernel.annotation.RateLimit;
 import dev.tagtag.kernel.constant.AppMessages;
 import dev.tagtag.module.auth.service.AuthService;
@@ -21,6 +23,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
@@ -34,6 +37,10 @@ import java.util.*;
 @Tag(name = "认证管理", description = "认证相关 API 接口")
 public class AuthController {
 
+    private static final String ADMIN_ROUTES_KEY = "routes:admin";
+    /** 管理员路由的数据来源缓存（菜单树） */
+    private static final String MENU_TREE_CACHE = "menuTree";
+
     private final AuthService authService;
     private final UserApi userApi;
     private final PermissionResolver permissionResolver;
@@ -41,16 +48,22 @@ public class AuthController {
     private final MenuApi menuApi;
     private final RoleApi roleApi;
     private final RouteService routeService;
+    private final ResponseBodyCache responseBodyCache;
 
 
 
     /**
      * 用户登录（返回访问令牌与刷新令牌）
+     * 按用户名限流时先去空白并转小写，大小写变体计入同一账号
      *
      * @param req 登录请求
      * @return 令牌结果
      */
-    @RateLimit(key = "auth:login", periodSeconds = 60, permits = 10, message = "登录请求过多，请稍后再试")
+    @RateLimit(key = "auth:login", message = "登录请求过多，请稍后再试", dimensions = {
+            @RateLimit.Dimension(scope = RateLimit.Scope.IP, permits = 10),
+            @RateLimit.Dimension(scope = RateLimit.Scope.ARG, expression = "#req.username?.trim()?.toLowerCase(T(java.util.Locale).ROOT)", permits = 10),
+            @RateLimit.Dimension(scope = RateLimit.Scope.GLOBAL, permits = 600)
+    })
     @PostMapping("/login")
     @Operation(summary = "用户登录", description = "用户登录，返回访问令牌与刷新令牌")
     public Result<TokenDTO> login(@Valid @RequestBody LoginRequest req) {
@@ -67,7 +80,10 @@ public class AuthController {
      * @param req 刷新请求
      * @return 令牌结果
      */
-    @RateLimit(key = "auth:refresh", periodSeconds = 60, permits = 30, message = "刷新频率过快，请稍后再试")
+    @RateLimit(key = "auth:refresh", message = "刷新频率过快，请稍后再试", dimensions = {
+            @RateLimit.Dimension(scope = RateLimit.Scope.IP, permits = 30),
+            @RateLimit.Dimension(scope = RateLimit.Scope.GLOBAL, permits = 3000)
+    })
     @PostMapping("/refresh")
     @Operation(summary = "刷新令牌", description = "刷新令牌，返回新的访问令牌与刷新令牌")
     public Result<TokenDTO> refresh(@Valid @RequestBody RefreshRequest req) {
@@ -84,7 +100,7 @@ public class AuthController {
     @PostMapping("/logout")
     @Operation(summary = "注销登录", description = "用户注销登录")
     public Result<Void> logout(@Valid @RequestBody LogoutRequest req) {
-        authService.logout(req.getAccessToken());
+        authService.logout(req.getAccessToken(), req.getRefreshToken());
         return Result.okMsg(AppMessages.LOGOUT_SUCCESS);
     }
 
@@ -117,8 +133,8 @@ public class AuthController {
     public Result<UserDTO> me() {
         Long uid = AuthContext.getCurrentUserId();
         UserDTO user = userApi.getUserById(uid).getData();
-        if (user != null) user.setPassword(null);
-        return Result.ok(user);
+        // 缓存返回的是共享实例，脱敏前先复制
+        return Result.ok(user == null ? null : user.toBuilder().password(null).build());
     }
 
     /**
@@ -142,28 +158,28 @@ public class AuthController {
 
     /**
      * 获取当前用户可访问的路由记录（按角色分配的目录/菜单进行过滤；按钮不生成路由）
+     * 超级管理员的路由与完整菜单树一一对应，按菜单树缓存版本复用预序列化响应
      *
      * @return 路由记录列表
      */
     @GetMapping("/menu/all")
     @Operation(summary = "获取用户路由", description = "获取当前用户可访问的路由记录")
-    public Result<List<RouteRecordStringComponentDTO>> allMenus() {
+    public ResponseEntity<SerializedBody<Result<List<RouteRecordStringComponentDTO>>>> allMenus() {
         UserPrincipal principal = AuthContext.getCurrentPrincipal();
-        List<MenuDTO> filteredTree;
-        List<MenuDTO> fullTree = menuApi.listMenuTree(null).getData();
 
         // 如果是超级管理员，不过滤，直接返回完整树
         if (principal.isAdmin()) {
-            filteredTree = fullTree;
-        } else {
-            List<Long> roleIds = new ArrayList<>(Objects.requireNonNullElse(principal.getRoleIds(), Collections.emptySet()));
-            List<Long> assignedMenuIds = roleApi.listMenuIdsByRoleIds(roleIds).getData();
-            Set<Long> idSet = assignedMenuIds == null ? Collections.emptySet() : new LinkedHashSet<>(assignedMenuIds);
-            filteredTree = routeService.filterMenuTreeByIds(fullTree, idSet);
+            return responseBodyCache.respond(ADMIN_ROUTES_KEY, MENU_TREE_CACHE,
+                    () -> Result.ok(routeService.convertMenuToRoutes(menuApi.listMenuTree(null).getData())));
         }
+        List<MenuDTO> fullTree = menuApi.listMenuTree(null).getData();
+        List<Long> roleIds = new ArrayList<>(Objects.requireNonNullElse(principal.getRoleIds(), Collections.emptySet()));
+        List<Long> assignedMenuIds = roleApi.listMenuIdsByRoleIds(roleIds).getData();
+        Set<Long> idSet = assignedMenuIds == null ? Collections.emptySet() : new LinkedHashSet<>(assignedMenuIds);
+        List<MenuDTO> filteredTree = routeService.filterMenuTreeByIds(fullTree, idSet);
 
         List<RouteRecordStringComponentDTO> routes = routeService.convertMenuToRoutes(filteredTree);
-        return Result.ok(routes);
+        return responseBodyCache.respond(null, null, () -> Result.ok(routes));
     }
 
 }
@@ -23,10 +23,11 @@ public interface AuthService {
     TokenDTO refresh(String refreshToken);
 
     /**
-     * 注销登录（对 JWT 为无状态操作，这里返回成功）
+     * 注销当前会话：吊销本次的访问令牌与刷新令牌，不影响用户的其他会话
      * @param accessToken 访问令牌
+     * @param refreshToken 刷新令牌（可为空）
      */
-    void logout(String accessToken);
+    void logout(String accessToken, String refreshToken);
 
     /**
      * 用户注册（创建新用户并加密存储密码）
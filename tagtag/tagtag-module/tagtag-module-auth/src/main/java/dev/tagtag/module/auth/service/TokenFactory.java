@@ -3,7 +3,9 @@ package dev.tagtag.module.auth.service;
 import dev.tagtag.contract.auth.dto.TokenDTO;
 import dev.tagtag.contract.iam.dto.UserDTO;
 
+import dev.tagtag.framework.security.model.VerifiedToken;
 import dev.tagtag.framework.security.service.JwtService;
+import dev.tagtag.framework.security.service.PermissionDictionary;
 import dev.tagtag.kernel.constant.SecurityClaims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -21,9 +23,10 @@ import java.util.Set;
 public class TokenFactory {
 
     private final JwtService jwtService;
+    private final PermissionDictionary permissionDictionary;
 
     /**
-     * 构造 JWT Claims 映射
+     * 构造 JWT Claims 映射（启用压缩时权限以字典位图 pbits 写入，代替 perms 列表）
      * @param full 用户详情
      * @param roleIds 角色ID列表
      * @param perms 权限集合
@@ -35,7 +38,11 @@ public class TokenFactory {
         claims.put(SecurityClaims.UID, full.getId());
         claims.put(SecurityClaims.UNAME, full.getUsername());
         claims.put(SecurityClaims.ROLES, roleIds);
-        claims.put(SecurityClaims.PERMS, perms);
+        if (permissionDictionary.isCompact()) {
+            claims.put(SecurityClaims.PERM_BITS, permissionDictionary.encode(perms));
+        } else {
+            claims.put(SecurityClaims.PERMS, perms);
+        }
         claims.put(SecurityClaims.VER, ver);
         claims.put(SecurityClaims.IS_ADMIN, full.getIsAdmin());
         return claims;
@@ -65,4 +72,15 @@ public class TokenFactory {
         dto.setExpiresIn(accessTtlSeconds);
         return dto;
     }
+
+    /**
+     * 以已验证的刷新令牌换发访问与刷新令牌（沿用业务声明，重新生成 jti 与时间声明）
+     * @param refreshToken 已验证的刷新令牌
+     * @param accessTtlSeconds 访问令牌有效期（秒）
+     * @param refreshTtlSeconds 刷新令牌有效期（秒）
+     * @return 令牌对象
+     */
+    public TokenDTO reissueTokens(VerifiedToken refreshToken, long accessTtlSeconds, long refreshTtlSeconds) {
+        return issueTokens(refreshToken.customClaims(), refreshToken.getSubject(), accessTtlSeconds, refreshTtlSeconds);
+    }
 }
\ No newline at end of file
@@ -8,9 +8,10 @@ import dev.tagtag.contract.auth.dto.TokenDTO;
 import dev.tagtag.contract.iam.api.UserApi;
 import dev.tagtag.contract.iam.dto.UserDTO;
 import dev.tagtag.framework.config.JwtProperties;
+import dev.tagtag.framework.security.model.VerifiedToken;
+import dev.tagtag.framework.security.service.JtiRevocationList;
 import dev.tagtag.framework.security.service.JwtService;
 import dev.tagtag.framework.security.service.TokenVersionService;
-import dev.tagtag.kernel.constant.SecurityClaims;
 import dev.tagtag.module.auth.service.AuthService;
 import dev.tagtag.module.auth.service.PermissionResolver;
 import dev.tagtag.module.auth.service.TokenFactory;
@@ -18,7 +19,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.MDC;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -32,15 +32,20 @@ import java.util.*;
 @Slf4j
 public class AuthServiceImpl implements AuthService {
 
+    private static final String REFRESH_TYPE = "refresh";
+
     private final JwtService jwtService;
     private final UserApi userApi;
     private final PasswordEncoder passwordEncoder;
     private final TokenVersionService tokenVersionService;
+    private final JtiRevocationList jtiRevocationList;
     private final PermissionResolver permissionResolver;
     private final TokenFactory tokenFactory;
 
     private final JwtProperties jwtProps;
-    private final StringRedisTemplate stringRedisTemplate;
+
+    /** 用户不存在时参与比对的占位哈希，保证与真实用户相同的 bcrypt 耗时 */
+    private volatile String dummyPasswordHash;
 
     /**
      * 用户登录（简单校验后发放访问与刷新令牌）
@@ -50,8 +55,6 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public TokenDTO login(String username, String password) {
-        checkLoginRateLimit(username);
-
         String uname = normalize(username);
         String pwd = normalize(password);
         if (!org.springframework.util.StringUtils.hasText(uname) || !org.springframework.util.StringUtils.hasText(pwd)) {
@@ -61,8 +64,14 @@ public class AuthServiceImpl implements AuthService {
         }
 
 
-        UserDTO full = loadUserOrFail(uname);
-        String stored = normalize(full.getPassword());
+        UserDTO full = userApi.getUserByUsername(uname).getData();
+        String stored = full == null ? null : normalize(full.getPassword());
+        if (stored == null) {
+            passwordEncoder.matches(pwd, dummyPasswordHash());
+            log.warn("login failed: unknown user username='{}', ip={}, ua={}, traceId={}",
+                    uname, WebUtil.resolveClientIp(), WebUtil.getUserAgent(), MDC.get(GlobalConstants.TRACE_ID_MDC_KEY));
+            throw BusinessException.unauthorized("凭证无效");
+        }
         boolean matched = passwordEncoder.matches(pwd, stored);
         if (!matched) {
             log.warn("login failed: invalid credentials username='{}', ip={}, ua={}, traceId={}",
@@ -89,70 +98,60 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public TokenDTO refresh(String refreshToken) {
-        checkRefreshRateLimit();
-        if (!org.springframework.util.StringUtils.hasText(refreshToken) || !jwtService.validateToken(refreshToken)) {
+        VerifiedToken token = jwtService.verify(refreshToken);
+        if (token == null || !REFRESH_TYPE.equals(token.getType())) {
             log.warn("refresh failed: invalid token, ip={}, ua={}, traceId={}",
                     WebUtil.resolveClientIp(), WebUtil.getUserAgent(), MDC.get(GlobalConstants.TRACE_ID_MDC_KEY));
             throw BusinessException.unauthorized("凭证无效");
         }
-        String subject = jwtService.getSubject(refreshToken);
-        Map<String, Object> claims = new HashMap<>(jwtService.getClaims(refreshToken));
         // 校验令牌版本是否仍然有效
-        Long uid = claims.get(SecurityClaims.UID) == null ? null : toLong(claims.get(SecurityClaims.UID));
-        Long tokenVer = claims.get(SecurityClaims.VER) == null ? null : toLong(claims.get(SecurityClaims.VER));
+        Long uid = token.getUid();
+        Long tokenVer = token.getVersion();
         if (uid == null || tokenVer == null || !tokenVersionService.isTokenVersionValid(uid, tokenVer)) {
             log.warn("refresh failed: token version mismatch uid={} tokenVer={}, ip={}, ua={}, traceId={}",
                     uid, tokenVer, WebUtil.resolveClientIp(), WebUtil.getUserAgent(), MDC.get(GlobalConstants.TRACE_ID_MDC_KEY));
             throw BusinessException.unauthorized("凭证无效");
         }
-        claims.put(SecurityClaims.TYP, "access");
-        String access = jwtService.generateToken(claims, subject, jwtProps.getAccessTtlSeconds());
-        Map<String, Object> refreshClaims = new HashMap<>(claims);
-        refreshClaims.put(SecurityClaims.TYP, "refresh");
-        String refresh = jwtService.generateToken(refreshClaims, subject, jwtProps.getRefreshTtlSeconds());
-        TokenDTO dto = new TokenDTO();
-        dto.setAccessToken(access);
-        dto.setRefreshToken(refresh);
-        dto.setTokenType("Bearer");
-        dto.setExpiresIn(jwtProps.getAccessTtlSeconds());
+        // 刷新令牌一次性使用：原子地消费并吊销，并发刷新同一令牌只有一个成功（不含 jti 的旧令牌只受令牌版本约束）
+        if (token.getJti() != null && !jtiRevocationList.consume(token.getJti(), token.getExpiresAt())) {
+            log.warn("refresh failed: token revoked or already used uid={}, ip={}, ua={}, traceId={}",
+                    uid, WebUtil.resolveClientIp(), WebUtil.getUserAgent(), MDC.get(GlobalConstants.TRACE_ID_MDC_KEY));
+            throw BusinessException.unauthorized("凭证无效");
+        }
+        TokenDTO dto = tokenFactory.reissueTokens(token, jwtProps.getAccessTtlSeconds(), jwtProps.getRefreshTtlSeconds());
         log.info("refresh success: uid={}, ip={}, ua={}, traceId={}", uid, WebUtil.resolveClientIp(), WebUtil.getUserAgent(), MDC.get(GlobalConstants.TRACE_ID_MDC_KEY));
         return dto;
     }
 
     /**
-     * 注销登录（JWT 无状态，这里直接成功）
+     * 注销当前会话：按 jti 吊销访问令牌与刷新令牌，用户其他设备上的会话不受影响
+     * 两个令牌各自验签、各自吊销：注销时访问令牌通常已过期，刷新令牌仍须吊销；
+     * 令牌不含 jti 时退回为提升令牌版本（使该用户全部令牌失效）
      * @param accessToken 访问令牌
+     * @param refreshToken 刷新令牌（可为空）
      */
     @Override
-    public void logout(String accessToken) {
-        // 解析令牌并提升令牌版本，使旧令牌全部失效
-        if (!org.springframework.util.StringUtils.hasText(accessToken) || !jwtService.validateToken(accessToken)) {
-            return;
+    public void logout(String accessToken, String refreshToken) {
+        Long uid = null;
+        Long bumpedUid = null;
+        for (VerifiedToken token : Arrays.asList(jwtService.verify(accessToken), jwtService.verify(refreshToken))) {
+            if (token == null || token.getUid() == null) {
+                continue;
+            }
+            uid = token.getUid();
+            if (token.getJti() != null) {
+                jtiRevocationList.revoke(token.getJti(), token.getExpiresAt());
+            } else if (!uid.equals(bumpedUid)) {
+                tokenVersionService.bumpVersion(uid);
+                bumpedUid = uid;
+            }
         }
-        Map<String, Object> claims = jwtService.getClaims(accessToken);
-        Long uid = claims.get(SecurityClaims.UID) == null ? null : toLong(claims.get(SecurityClaims.UID));
         if (uid != null) {
-            tokenVersionService.bumpVersion(uid);
-            log.info("logout: bumped token version for uid={}, ip={}, ua={}, traceId={}",
+            log.info("logout: revoked session tokens for uid={}, ip={}, ua={}, traceId={}",
                     uid, WebUtil.resolveClientIp(), WebUtil.getUserAgent(), MDC.get(GlobalConstants.TRACE_ID_MDC_KEY));
         }
     }
 
-    /**
-     * 将任意对象转换为 Long（不可转换时返回 null）
-     * @param src 源对象
-     * @return Long 或 null
-     */
-    private Long toLong(Object src) {
-        if (src == null) return null;
-        if (src instanceof Number n) return n.longValue();
-        try {
-            return Long.parseLong(String.valueOf(src).trim());
-        } catch (NumberFormatException | NullPointerException e) {
-            return null;
-        }
-    }
-
     /**
      * 用户注册：检查用户名唯一性，密码加密后创建用户
      * @param username 用户名
@@ -180,58 +179,16 @@ public class AuthServiceImpl implements AuthService {
     }
 
     /**
-     * 按用户名加载用户，不存在或凭证为空时抛出未认证异常
-     * @param uname 用户名
-     * @return 用户详情
+     * 获取占位密码哈希（首次使用时以当前编码器生成，与真实密码哈希成本一致）
+     * @return 占位哈希
      */
-    private UserDTO loadUserOrFail(String uname) {
-        UserDTO full = userApi.getUserByUsername(uname).getData();
-        if (full == null || full.getPassword() == null) {
-            throw BusinessException.unauthorized("凭证无效");
-        }
-        return full;
-    }
-
-    /**
-     * 登录接口限流：基于用户名 + IP 的滑窗计数，超过阈值抛出 429
-     * @param username 用户名
-     */
-    private void checkLoginRateLimit(String username) {
-        try {
-            String ip = WebUtil.resolveClientIp();
-            String uname = normalize(username);
-            String key = "rl:login:" + (ip == null ? "unknown" : ip) + ":" + (uname == null ? "" : uname);
-            long maxPerMinute = 10L;
-            Long n = stringRedisTemplate.opsForValue().increment(key);
-            if (n != null && n == 1L) {
-                stringRedisTemplate.expire(key, java.time.Duration.ofMinutes(1));
-            }
-            if (n != null && n > maxPerMinute) {
-                throw BusinessException.of(ErrorCode.TOO_MANY_REQUESTS, "请求过于频繁，请稍后再试");
-            }
-        } catch (Exception ignore) {
-            return;
-        }
-    }
-
-    /**
-     * 刷新接口限流：基于 IP 的滑窗计数，超过阈值抛出 429
-     */
-    private void checkRefreshRateLimit() {
-        try {
-            String ip = WebUtil.resolveClientIp();
-            String key = "rl:refresh:" + (ip == null ? "unknown" : ip);
-            long maxPerMinute = 30L;
-            Long n = stringRedisTemplate.opsForValue().increment(key);
-            if (n != null && n == 1L) {
-                stringRedisTemplate.expire(key, java.time.Duration.ofMinutes(1));
-            }
-            if (n != null && n > maxPerMinute) {
-                throw BusinessException.of(ErrorCode.TOO_MANY_REQUESTS, "请求过于频繁，请稍后再试");
-            }
-        } catch (Exception ignore) {
-            return;
+    private String dummyPasswordHash() {
+        String hash = dummyPasswordHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyPasswordHash = hash;
         }
+        return hash;
     }
 
     private String normalize(String s) {
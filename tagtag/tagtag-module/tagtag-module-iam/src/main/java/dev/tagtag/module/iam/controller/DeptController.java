@@ -5,12 +5,16 @@ import dev.tagtag.common.model.StatusUpdateRequest;
 import dev.tagtag.common.model.BatchStatusUpdateRequest;
 import dev.tagtag.contract.iam.dto.DeptDTO;
 import dev.tagtag.contract.iam.dto.DeptQueryDTO;
+import dev.tagtag.framework.web.body.ResponseBodyCache;
+import dev.tagtag.framework.web.body.SerializedBody;
 import dev.tagtag.kernel.annotation.RequirePerm;
 import dev.tagtag.module.iam.service.DeptService;
 import java.util.List;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.validation.annotation.Validated;
 import dev.tagtag.common.validation.CreateGroup;
@@ -29,6 +33,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class DeptController {
 
     private final DeptService deptService;
+    private final ResponseBodyCache responseBodyCache;
 
 
     /** 创建部门 */
@@ -83,11 +88,21 @@ public class DeptController {
         return Result.okMsg(AppMessages.UPDATE_SUCCESS);
     }
 
-    /** 部门树列表（支持查询条件） */
+    /** 部门树列表（支持查询条件；无条件时走缓存并输出预序列化响应） */
     @GetMapping("/tree")
     @RequirePerm(Permissions.DEPT_READ)
     @Operation(summary = "获取部门树", description = "获取部门树列表，支持查询条件")
-    public Result<List<DeptDTO>> listTree(DeptQueryDTO query) {
-        return Result.ok(deptService.listTree(query));
+    public ResponseEntity<SerializedBody<Result<List<DeptDTO>>>> listTree(DeptQueryDTO query) {
+        boolean unfiltered = isUnfiltered(query);
+        return responseBodyCache.respond(unfiltered ? "deptTree" : null, "deptTree",
+                () -> Result.ok(deptService.listTree(unfiltered ? null : query)));
+    }
+
+    /**
+     * 参数绑定总会创建查询对象，全部条件为空时等同于无条件查询
+     */
+    private static boolean isUnfiltered(DeptQueryDTO query) {
+        return query == null || (!StringUtils.hasText(query.getName()) && query.getStatus() == null
+                && query.getParentId() == null && !StringUtils.hasText(query.getCode()));
     }
 }
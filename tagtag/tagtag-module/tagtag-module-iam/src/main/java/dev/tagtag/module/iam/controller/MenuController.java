@@ -9,8 +9,12 @@ import dev.tagtag.kernel.constant.AppMessages;
 import dev.tagtag.common.constant.GlobalConstants;
 import dev.tagtag.contract.iam.dto.MenuDTO;
 import dev.tagtag.contract.iam.dto.MenuQueryDTO;
+import dev.tagtag.framework.web.body.ResponseBodyCache;
+import dev.tagtag.framework.web.body.SerializedBody;
 import dev.tagtag.module.iam.service.MenuService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.validation.annotation.Validated;
 import jakarta.validation.Valid;
@@ -27,17 +31,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class MenuController {
 
     private final MenuService menuService;
+    private final ResponseBodyCache responseBodyCache;
 
 
     /**
      * 菜单树查询（不分页）
+     * 预序列化响应只按状态/类型这类有限取值的条件缓存，带编码或名称等自由文本条件时每次重新序列化
      * @param query 菜单过滤条件
      */
     @GetMapping("/tree")
     @RequirePerm(Permissions.MENU_READ)
     @Operation(summary = "获取菜单树", description = "获取菜单树列表，支持过滤条件")
-    public Result<List<MenuDTO>> tree(MenuQueryDTO query) {
-        return Result.ok(menuService.listTree(query));
+    public ResponseEntity<SerializedBody<Result<List<MenuDTO>>>> tree(MenuQueryDTO query) {
+        return responseBodyCache.respond(bodyKey(query), "menuTree", () -> Result.ok(menuService.listTree(query)));
     }
 
     /** 获取菜单详情 */
@@ -112,4 +118,17 @@ public class MenuController {
         menuService.batchDelete(req.getIds());
         return Result.okMsg(AppMessages.DELETE_SUCCESS);
     }
+
+    /**
+     * 预序列化响应的条目键：由规范化后的状态与类型组成，含自由文本条件时返回空（不缓存）
+     */
+    private static String bodyKey(MenuQueryDTO query) {
+        if (query == null) {
+            return "menuTree:all";
+        }
+        if (StringUtils.hasText(query.getMenuCode()) || StringUtils.hasText(query.getMenuName())) {
+            return null;
+        }
+        return "menuTree:" + query.getStatus() + ":" + query.getMenuType();
+    }
 }
@@ -107,8 +107,8 @@ public class UserController {
         user.setId(uid);
         userService.update(user);
         UserDTO fresh = userService.getById(uid);
-        if (fresh != null) fresh.setPassword(null);
-        return Result.ok(fresh);
+        // 缓存返回的是共享实例，脱敏前先复制
+        return Result.ok(fresh == null ? null : fresh.toBuilder().password(null).build());
     }
 
     /**
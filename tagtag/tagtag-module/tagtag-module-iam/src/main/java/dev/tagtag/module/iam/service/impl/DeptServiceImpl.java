@@ -133,7 +133,7 @@ public class DeptServiceImpl extends ServiceImpl<DeptMapper, Dept> implements De
      * @return 部门树（按 sort、id 升序）
      */
     @Override
-    @Cacheable(cacheNames = "deptTree", key = "'all'", unless = "#query != null")
+    @Cacheable(cacheNames = "deptTree", key = "'all'", condition = "#query == null", sync = true)
     @Transactional(readOnly = true)
     public List<DeptDTO> listTree(DeptQueryDTO query) {
         LambdaQueryChainWrapper<Dept> chain = this.lambdaQuery();
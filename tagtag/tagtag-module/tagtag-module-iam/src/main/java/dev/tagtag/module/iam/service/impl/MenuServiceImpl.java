@@ -4,6 +4,7 @@ import dev.tagtag.common.exception.ErrorCode;
 import dev.tagtag.common.model.PageQuery;
 import dev.tagtag.common.model.PageResult;
 import dev.tagtag.common.util.TreeUtil;
+import dev.tagtag.framework.cache.CacheInvalidator;
 import dev.tagtag.framework.util.PageResults;
 import dev.tagtag.framework.util.Pages;
 import dev.tagtag.contract.iam.dto.MenuDTO;
@@ -17,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import dev.tagtag.common.exception.BusinessException;
 
 import java.util.List;
@@ -32,6 +34,7 @@ import java.util.Objects;
 public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements MenuService {
 
     private final MenuMapperConvert menuMapperConvert;
+    private final CacheInvalidator cacheInvalidator;
 
     
 
@@ -55,7 +58,10 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
     /** 创建菜单 */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"menuById", "menuTree", "allPermissionCodes"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "menuTree", allEntries = true),
+            @CacheEvict(cacheNames = "allPermissionCodes", key = "'all'")
+    })
     public Long create(MenuDTO menu) {
         Menu entity = menuMapperConvert.toEntity(menu);
         super.save(entity);
@@ -65,7 +71,11 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
     /** 更新菜单（忽略源对象中的空值） */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"menuById", "menuTree", "allPermissionCodes"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "menuById", key = "#menu.id", condition = "#menu != null && #menu.id != null"),
+            @CacheEvict(cacheNames = "menuTree", allEntries = true),
+            @CacheEvict(cacheNames = "allPermissionCodes", key = "'all'")
+    })
     public void update(MenuDTO menu) {
         if (menu == null || menu.getId() == null) return;
         Menu entity = super.getById(menu.getId());
@@ -80,7 +90,11 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"menuById", "menuTree", "allPermissionCodes"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "menuById", key = "#id", condition = "#id != null"),
+            @CacheEvict(cacheNames = "menuTree", allEntries = true),
+            @CacheEvict(cacheNames = "allPermissionCodes", key = "'all'")
+    })
     public void delete(Long id) {
         if (id == null) return;
         // 保护：存在子菜单禁止删除
@@ -99,7 +113,7 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "menuTree", key = "#query == null ? 'all' : #query.toString()")
+    @Cacheable(cacheNames = "menuTree", key = "#query == null ? 'all' : #query.toString()", sync = true)
     public List<MenuDTO> listTree(MenuQueryDTO query) {
         var lq = this.lambdaQuery();
         if (query != null) {
@@ -136,7 +150,7 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "allPermissionCodes", key = "'all'")
+    @Cacheable(cacheNames = "allPermissionCodes", key = "'all'", sync = true)
     public Set<String> listAllPermissionCodes() {
         List<String> codes = baseMapper.selectAllPermissionCodes();
         if (codes == null || codes.isEmpty()) return Collections.emptySet();
@@ -151,7 +165,11 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"menuById", "menuTree", "allPermissionCodes"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "menuById", key = "#id", condition = "#id != null"),
+            @CacheEvict(cacheNames = "menuTree", allEntries = true),
+            @CacheEvict(cacheNames = "allPermissionCodes", key = "'all'")
+    })
     public void updateStatus(Long id, int status) {
         if (id == null) return;
         this.lambdaUpdate().eq(Menu::getId, id).set(Menu::getStatus, status).update();
@@ -164,7 +182,10 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"menuById", "menuTree", "allPermissionCodes"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "menuTree", allEntries = true),
+            @CacheEvict(cacheNames = "allPermissionCodes", key = "'all'")
+    })
     public void batchUpdateStatus(List<Long> ids, int status) {
         if (ids == null || ids.isEmpty()) return;
         LinkedHashSet<Long> uniq = new LinkedHashSet<>(ids);
@@ -172,6 +193,7 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
                 .in(Menu::getId, uniq)
                 .set(Menu::getStatus, status)
                 .update();
+        cacheInvalidator.evict("menuById", uniq);
     }
 
     /**
@@ -180,7 +202,10 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"menuById", "menuTree", "allPermissionCodes"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "menuTree", allEntries = true),
+            @CacheEvict(cacheNames = "allPermissionCodes", key = "'all'")
+    })
     public void batchDelete(List<Long> ids) {
         if (ids == null || ids.isEmpty()) return;
         LinkedHashSet<Long> uniq = new LinkedHashSet<>(ids);
@@ -189,5 +214,6 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
             throw BusinessException.badRequest("选中的菜单中存在子菜单，无法批量删除");
         }
         super.removeBatchByIds(uniq);
+        cacheInvalidator.evict("menuById", uniq);
     }
 }
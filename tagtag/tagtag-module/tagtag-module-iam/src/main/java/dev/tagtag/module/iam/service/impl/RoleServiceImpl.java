@@ -124,7 +124,7 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
 
     /** 批量查询角色的权限编码集合（按钮型菜单的 menu_code，去重） */
     @Override
-    @Cacheable(cacheNames = "roleMenuCodes", key = "#root.args[0]")
+    @Cacheable(cacheNames = "roleMenuCodes", key = "#root.args[0]", sync = true)
     @Transactional(readOnly = true)
     public Set<String> listMenuCodesByRoleIds(List<Long> roleIds) {
         if (roleIds == null || roleIds.isEmpty()) return Collections.emptySet();
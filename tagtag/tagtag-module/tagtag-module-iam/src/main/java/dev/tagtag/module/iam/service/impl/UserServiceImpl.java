@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import dev.tagtag.common.model.PageQuery;
 import dev.tagtag.common.model.PageResult;
+import dev.tagtag.framework.cache.CacheInvalidator;
 import dev.tagtag.framework.util.PageResults;
 import dev.tagtag.framework.util.Pages;
 import dev.tagtag.contract.iam.dto.UserDTO;
@@ -20,22 +21,32 @@ import dev.tagtag.module.iam.service.UserService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
 
+    /** 不存在用户名的负缓存（短 TTL 空值标记，L1 有界） */
+    private static final String USERNAME_MISSING_CACHE = "usernameMissing";
+
     private final UserMapperConvert userMapperConvert;
     private final RoleMapper roleMapper;
     private final RoleMapperConvert roleMapperConvert;
     private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidator cacheInvalidator;
+    private final CacheManager cacheManager;
 
 
     /**
@@ -71,7 +82,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"userById", "userByUsername"}, allEntries = true)
+    @CacheEvict(cacheNames = "userByUsername", key = "#user.username", condition = "#user != null && #user.username != null")
     public void create(UserDTO user) {
         User entity = userMapperConvert.toEntity(user);
         String raw = entity.getPassword();
@@ -81,6 +92,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             entity.setPasswordUpdatedAt(LocalDateTime.now());
         }
         super.save(entity);
+        cacheInvalidator.evict(USERNAME_MISSING_CACHE, entity.getUsername());
     }
 
     /**
@@ -88,7 +100,6 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"userById", "userByUsername"}, allEntries = true)
     public void update(UserDTO user) {
         if (user == null || user.getId() == null) {
             return;
@@ -97,8 +108,12 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (entity == null) {
             return;
         }
+        String oldUsername = entity.getUsername();
         userMapperConvert.updateEntityFromDTO(user, entity);
         super.updateById(entity);
+        cacheInvalidator.evict("userById", entity.getId());
+        cacheInvalidator.evict("userByUsername", Arrays.asList(oldUsername, entity.getUsername()));
+        cacheInvalidator.evict(USERNAME_MISSING_CACHE, entity.getUsername());
     }
 
     /**
@@ -106,11 +121,11 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"userById", "userByUsername"}, allEntries = true)
     public void delete(Long id) {
         if (id == null) {
             return;
         }
+        evictUserCaches(List.of(id));
         super.removeById(id);
     }
 
@@ -119,11 +134,11 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"userById", "userByUsername"}, allEntries = true)
     public void assignRoles(Long userId, List<Long> roleIds) {
         if (userId == null) {
             return;
         }
+        evictUserCaches(List.of(userId));
         baseMapper.deleteUserRoles(userId);
         if (roleIds != null && !roleIds.isEmpty()) {
             baseMapper.insertUserRoles(userId, roleIds);
@@ -132,21 +147,30 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
 
     /**
      * 根据用户名查询用户详情（包含密码与角色ID）
+     * 不开启事务：命中负缓存时直接返回，不占用数据库连接
+     * 未命中时写入不存在标记（一次 Redis 写入，不广播、不递增缓存版本）；查询与写入之间若恰有同名用户提交，
+     * 标记会晚于创建时的驱逐写入，最长残留一个 usernameMissing TTL
      *
      * @param username 用户名
      * @return 用户数据
      */
     @Override
-    @Transactional(readOnly = true)
     @Cacheable(cacheNames = "userByUsername", key = "#root.args[0]", condition = "#root.args[0] != null && #root.args[0].length() > 0", unless = "#result == null")
     public UserDTO getByUsername(String username) {
         if (username == null || username.isEmpty()) {
             return null;
         }
+        Cache missing = cacheManager.getCache(USERNAME_MISSING_CACHE);
+        if (missing != null && missing.get(username) != null) {
+            return null;
+        }
         User entity = this.getOne(this.lambdaQuery()
                 .eq(User::getUsername, username)
                 .getWrapper(), false);
         if (entity == null) {
+            if (missing != null) {
+                missing.put(username, Boolean.TRUE);
+            }
             return null;
         }
         UserDTO dto = userMapperConvert.toDTO(entity);
@@ -167,14 +191,36 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         return dto;
     }
 
+    /**
+     * 精确驱逐用户缓存：userById::&lt;id&gt; 与对应的 userByUsername::&lt;username&gt;
+     * 需在删除前调用（用户名从实体中解析），实际驱逐在事务提交后执行
+     *
+     * @param ids 用户ID集合
+     */
+    private void evictUserCaches(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        List<String> usernames = this.lambdaQuery()
+                .select(User::getId, User::getUsername)
+                .in(User::getId, ids)
+                .list()
+                .stream()
+                .map(User::getUsername)
+                .filter(Objects::nonNull)
+                .toList();
+        cacheInvalidator.evict("userById", ids);
+        cacheInvalidator.evict("userByUsername", usernames);
+    }
+
     /**
      * 更新单个用户状态
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"userById", "userByUsername"}, allEntries = true)
     public void updateStatus(Long id, Integer status) {
         if (id == null || status == null) return;
+        evictUserCaches(List.of(id));
         this.lambdaUpdate().eq(User::getId, id).set(User::getStatus, status).update();
     }
 
@@ -183,9 +229,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"userById", "userByUsername"}, allEntries = true)
     public void batchUpdateStatus(List<Long> ids, Integer status) {
         if (ids == null || ids.isEmpty() || status == null) return;
+        evictUserCaches(ids);
         this.lambdaUpdate().in(User::getId, ids).set(User::getStatus, status).update();
     }
 
@@ -194,9 +240,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"userById", "userByUsername"}, allEntries = true)
     public void batchDelete(List<Long> ids) {
         if (ids == null || ids.isEmpty()) return;
+        evictUserCaches(ids);
         this.removeBatchByIds(ids);
     }
 
@@ -205,9 +251,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"userById", "userByUsername"}, allEntries = true)
     public void resetPassword(Long id, String password) {
         if (id == null || password == null || password.isBlank()) return;
+        evictUserCaches(List.of(id));
         String encoded = passwordEncoder.encode(password);
         this.lambdaUpdate().eq(User::getId, id)
                 .set(User::getPassword, encoded)
@@ -233,9 +279,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"userById", "userByUsername"}, allEntries = true)
     public void assignRolesBatch(List<Long> userIds, List<Long> roleIds) {
         if (userIds == null || userIds.isEmpty()) return;
+        evictUserCaches(userIds);
         baseMapper.deleteUserRolesBatch(userIds);
         if (roleIds != null && !roleIds.isEmpty()) {
             baseMapper.insertUserRolesBatch(userIds, roleIds);
@@ -247,7 +293,6 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = {"userById", "userByUsername"}, allEntries = true)
     public void changePassword(Long userId, String oldPassword, String newPassword) {
         if (userId == null || oldPassword == null || oldPassword.isBlank() || newPassword == null || newPassword.isBlank()) {
             return;
@@ -265,6 +310,8 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
                 .set(User::getPassword, encoded)
                 .set(User::getPasswordUpdatedAt, java.time.LocalDateTime.now())
                 .update();
+        cacheInvalidator.evict("userById", userId);
+        cacheInvalidator.evict("userByUsername", entity.getUsername());
     }
 
 }
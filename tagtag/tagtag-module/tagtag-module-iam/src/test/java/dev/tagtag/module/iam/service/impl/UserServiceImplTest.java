@@ -0,0 +1,127 @@
+package dev.tagtag.module.iam.service.impl;
+
+import dev.tagtag.contract.iam.dto.UserDTO;
+import dev.tagtag.framework.cache.CacheInvalidator;
+import dev.tagtag.module.iam.convert.RoleMapperConvertImpl;
+import dev.tagtag.module.iam.convert.UserMapperConvertImpl;
+import dev.tagtag.module.iam.entity.User;
+import dev.tagtag.module.iam.mapper.UserMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 用户名负缓存测试：不存在的用户名只查询一次数据库，创建同名用户后标记被驱逐
+ */
+public class UserServiceImplTest {
+
+    private final List<User> rows = new ArrayList<>();
+    private final AtomicInteger selects = new AtomicInteger();
+    private ConcurrentMapCacheManager cacheManager;
+    private UserServiceImpl service;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        service = new TestUserService(cacheManager, userMapper());
+    }
+
+    /**
+     * 不存在的用户名写入标记，之后的查询由负缓存直接返回
+     */
+    @Test
+    public void unknownUsernameHitsDatabaseOnce() {
+        assertNull(service.getByUsername("ghost"));
+        assertEquals(1, selects.get());
+        assertNotNull(cacheManager.getCache("usernameMissing").get("ghost"));
+
+        for (int i = 0; i < 5; i++) {
+            assertNull(service.getByUsername("ghost"));
+        }
+        assertEquals(1, selects.get());
+    }
+
+    /**
+     * 创建同名用户后驱逐标记，下一次查询回源并返回新用户
+     */
+    @Test
+    public void createEvictsMissingMarker() {
+        assertNull(service.getByUsername("newcomer"));
+
+        UserDTO user = new UserDTO();
+        user.setUsername("newcomer");
+        user.setPassword("secret-123");
+        service.create(user);
+        assertNull(cacheManager.getCache("usernameMissing").get("newcomer"));
+
+        UserDTO found = service.getByUsername("newcomer");
+        assertNotNull(found);
+        assertEquals("newcomer", found.getUsername());
+        assertEquals(2, selects.get());
+    }
+
+    /**
+     * 空用户名不查询数据库也不写标记
+     */
+    @Test
+    public void emptyUsernameSkipsLookup() {
+        assertNull(service.getByUsername(""));
+        assertNull(service.getByUsername(null));
+        assertEquals(0, selects.get());
+        assertEquals(List.of(), List.copyOf(cacheManager.getCacheNames()));
+    }
+
+    /**
+     * 内存用户表：selectList 返回全部行，insert 追加行，默认方法按接口实现执行
+     */
+    private UserMapper userMapper() {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            return switch (method.getName()) {
+                case "selectList" -> {
+                    selects.incrementAndGet();
+                    yield new ArrayList<>(rows);
+                }
+                case "insert" -> {
+                    User entity = (User) args[0];
+                    entity.setId((long) rows.size() + 1);
+                    rows.add(entity);
+                    yield 1;
+                }
+                case "selectRoleIdsByUserId" -> List.of();
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        };
+        return (UserMapper) Proxy.newProxyInstance(UserMapper.class.getClassLoader(), new Class<?>[]{UserMapper.class}, handler);
+    }
+
+    /**
+     * 注入内存 Mapper 的用户服务（不经 Spring 代理，@Cacheable 不生效，只验证负缓存本身；实体类型直接给出，不从 MyBatis Mapper 代理解析）
+     */
+    private static final class TestUserService extends UserServiceImpl {
+
+        private TestUserService(ConcurrentMapCacheManager cacheManager, UserMapper userMapper) {
+            super(new UserMapperConvertImpl(), null, new RoleMapperConvertImpl(), new BCryptPasswordEncoder(4),
+                    new CacheInvalidator(cacheManager), cacheManager);
+            this.baseMapper = userMapper;
+        }
+
+        @Override
+        public Class<User> getEntityClass() {
+            return User.class;
+        }
+    }
+}
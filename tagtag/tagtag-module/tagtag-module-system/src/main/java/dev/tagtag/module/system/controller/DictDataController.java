@@ -7,11 +7,15 @@ import dev.tagtag.common.model.Result;
 import dev.tagtag.common.constant.GlobalConstants;
 import dev.tagtag.contract.system.dto.DictItemDTO;
 import dev.tagtag.contract.system.dto.DictItemQueryDTO;
+import dev.tagtag.framework.web.body.ResponseBodyCache;
+import dev.tagtag.framework.web.body.SerializedBody;
 import dev.tagtag.module.system.service.DictDataService;
 import dev.tagtag.kernel.annotation.RequirePerm;
 import dev.tagtag.kernel.constant.Permissions;
 import dev.tagtag.kernel.constant.AppMessages;
+import dev.tagtag.kernel.constant.CacheConstants;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import jakarta.validation.Valid;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -27,6 +31,7 @@ import java.util.List;
 public class DictDataController {
 
     private final DictDataService dictDataService;
+    private final ResponseBodyCache responseBodyCache;
 
     /**
      * 字典数据分页查询
@@ -48,8 +53,9 @@ public class DictDataController {
     @GetMapping("/type/{dictType}")
     @RequirePerm(Permissions.DICT_DATA_READ)
     @Operation(summary = "根据字典类型获取字典数据", description = "根据字典类型获取字典数据列表")
-    public Result<List<DictItemDTO>> listByDictType(@PathVariable String dictType) {
-        return Result.ok(dictDataService.listByDictType(dictType));
+    public ResponseEntity<SerializedBody<Result<List<DictItemDTO>>>> listByDictType(@PathVariable String dictType) {
+        return responseBodyCache.respond("dict:" + dictType, CacheConstants.DICT,
+                () -> Result.ok(dictDataService.listByDictType(dictType)));
     }
 
     /**
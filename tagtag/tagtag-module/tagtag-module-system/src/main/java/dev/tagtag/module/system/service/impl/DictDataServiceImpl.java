@@ -9,6 +9,7 @@ import dev.tagtag.common.model.PageQuery;
 import dev.tagtag.common.model.PageResult;
 import dev.tagtag.contract.system.dto.DictItemDTO;
 import dev.tagtag.contract.system.dto.DictItemQueryDTO;
+import dev.tagtag.framework.cache.CacheInvalidator;
 import dev.tagtag.framework.util.PageResults;
 import dev.tagtag.framework.util.Pages;
 import dev.tagtag.module.system.convert.DictDataConvert;
@@ -22,12 +23,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class DictDataServiceImpl extends ServiceImpl<DictDataMapper, DictData> implements DictDataService {
 
+    private final CacheInvalidator cacheInvalidator;
 
     /**
      * 字典数据分页查询
@@ -105,6 +108,7 @@ public class DictDataServiceImpl extends ServiceImpl<DictDataMapper, DictData> i
     @CacheEvict(value = CacheConstants.DICT, key = "#dto.typeCode")
     public void update(DictItemDTO dto) {
         DictData entity = DictDataConvert.INSTANCE.toEntity(dto);
+        evictDictTypes(entity.getId() == null ? List.of() : List.of(entity.getId()));
         this.updateById(entity);
     }
 
@@ -114,8 +118,9 @@ public class DictDataServiceImpl extends ServiceImpl<DictDataMapper, DictData> i
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(value = CacheConstants.DICT, allEntries = true)
     public void delete(Long id) {
+        if (id == null) return;
+        evictDictTypes(List.of(id));
         this.removeById(id);
     }
 
@@ -125,8 +130,25 @@ public class DictDataServiceImpl extends ServiceImpl<DictDataMapper, DictData> i
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(value = CacheConstants.DICT, allEntries = true)
     public void deleteBatch(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) return;
+        evictDictTypes(ids);
         this.removeByIds(ids);
     }
+
+    /**
+     * 按数据 ID 查出所属字典类型并驱逐对应缓存键（事务提交后执行）
+     * @param ids 字典数据 ID 集合
+     */
+    private void evictDictTypes(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) return;
+        List<String> types = this.lambdaQuery()
+                .select(DictData::getDictType)
+                .in(DictData::getId, ids)
+                .list()
+                .stream()
+                .map(DictData::getDictType)
+                .toList();
+        cacheInvalidator.evict(CacheConstants.DICT, types);
+    }
 }
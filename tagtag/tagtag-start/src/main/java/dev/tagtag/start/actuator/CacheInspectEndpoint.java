@@ -0,0 +1,56 @@
+package dev.tagtag.start.actuator;
+
+import dev.tagtag.framework.cache.CacheInspector;
+import dev.tagtag.framework.security.context.AuthContext;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存巡检端点（仅管理员）：/actuator/cacheinspect 列出全部缓存，
+ * /actuator/cacheinspect/{name} 查看单个缓存，附带 key 参数时抽样该键
+ */
+@Component
+@Endpoint(id = "cacheinspect")
+public class CacheInspectEndpoint {
+
+    private final CacheInspector cacheInspector;
+
+    public CacheInspectEndpoint(CacheInspector cacheInspector) {
+        this.cacheInspector = cacheInspector;
+    }
+
+    /**
+     * 列出全部缓存概要
+     * @return 缓存概要列表
+     */
+    @ReadOperation
+    public List<Map<String, Object>> caches() {
+        requireAdmin();
+        return cacheInspector.describeAll();
+    }
+
+    /**
+     * 查看单个缓存或抽样单个键
+     * @param name 缓存名
+     * @param key 缓存键（可选）
+     * @return 缓存概要或抽样结果，缓存不存在时返回 404
+     */
+    @ReadOperation
+    public Map<String, Object> cache(@Selector String name, @Nullable String key) {
+        requireAdmin();
+        return key == null ? cacheInspector.describe(name) : cacheInspector.sample(name, key);
+    }
+
+    private static void requireAdmin() {
+        if (!AuthContext.getCurrentPrincipal().isAdmin()) {
+            throw new AccessDeniedException("仅管理员可访问缓存巡检端点");
+        }
+    }
+}
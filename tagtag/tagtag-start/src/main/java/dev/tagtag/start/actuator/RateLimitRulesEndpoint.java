@@ -0,0 +1,97 @@
+package dev.tagtag.start.actuator;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tagtag.framework.ratelimit.RateLimitRule;
+import dev.tagtag.framework.ratelimit.RateLimitRules;
+import dev.tagtag.framework.security.context.AuthContext;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 动态限流规则端点（仅管理员）：GET /actuator/ratelimitrules 列出全部规则，
+ * POST /actuator/ratelimitrules 以规则字段（name、enabled、permits、periodSeconds、burst、dimensions）新增或替换规则，
+ * DELETE /actuator/ratelimitrules?name=... 删除规则恢复注解配置
+ * 规则名为 @RateLimit 的 key（如 auth:login），未指定 key 时为方法签名（含 #，因此放在请求体/查询参数而非路径中）
+ */
+@Component
+@Endpoint(id = "ratelimitrules")
+public class RateLimitRulesEndpoint {
+
+    private final RateLimitRules rateLimitRules;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitRulesEndpoint(RateLimitRules rateLimitRules, ObjectMapper objectMapper) {
+        this.rateLimitRules = rateLimitRules;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 列出全部动态规则
+     * @return 规则名 → 规则
+     */
+    @ReadOperation
+    public Map<String, RateLimitRule> rules() {
+        requireAdmin();
+        return rateLimitRules.list();
+    }
+
+    /**
+     * 新增或替换动态规则，所有节点随即生效
+     * 请求体如 {"name":"auth:login","dimensions":[{"scope":"IP","permits":5,"periodSeconds":60}]}
+     * @param name 规则名
+     * @param enabled 是否启用（默认 true）
+     * @param permits 每周期允许次数（dimensions 为空时生效）
+     * @param periodSeconds 周期秒数（dimensions 为空时生效）
+     * @param burst 突发量（不大于 0 时取 permits）
+     * @param dimensions 限流维度（字段同 RateLimitRule.Dimension）
+     * @return 全部动态规则
+     */
+    @WriteOperation
+    public Map<String, RateLimitRule> update(String name, @Nullable Boolean enabled, @Nullable Integer permits,
+                                             @Nullable Integer periodSeconds, @Nullable Integer burst,
+                                             @Nullable List<Map<String, Object>> dimensions) {
+        requireAdmin();
+        if (!StringUtils.hasText(name)) {
+            throw new InvalidEndpointRequestException("Rate limit rule name is required", "Missing name");
+        }
+        try {
+            List<RateLimitRule.Dimension> dims = dimensions == null ? List.of()
+                    : objectMapper.convertValue(dimensions, new TypeReference<List<RateLimitRule.Dimension>>() {});
+            rateLimitRules.put(name.trim(), new RateLimitRule(enabled == null || enabled,
+                    permits == null ? 0 : permits, periodSeconds == null ? 0 : periodSeconds,
+                    burst == null ? 0 : burst, dims));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException("Invalid rate limit rule: " + e.getMessage(), "Invalid rule");
+        }
+        return rateLimitRules.list();
+    }
+
+    /**
+     * 删除动态规则
+     * @param name 规则名（查询参数）
+     * @return 全部动态规则
+     */
+    @DeleteOperation
+    public Map<String, RateLimitRule> remove(String name) {
+        requireAdmin();
+        rateLimitRules.remove(name);
+        return rateLimitRules.list();
+    }
+
+    private static void requireAdmin() {
+        if (!AuthContext.getCurrentPrincipal().isAdmin()) {
+            throw new AccessDeniedException("仅管理员可访问限流规则端点");
+        }
+    }
+}
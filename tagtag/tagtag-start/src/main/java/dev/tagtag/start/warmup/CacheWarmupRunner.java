@@ -0,0 +1,130 @@
+package dev.tagtag.start.warmup;
+
+import dev.tagtag.contract.iam.dto.RoleDTO;
+import dev.tagtag.contract.system.dto.DictTypeDTO;
+import dev.tagtag.module.iam.service.DeptService;
+import dev.tagtag.module.iam.service.MenuService;
+import dev.tagtag.module.iam.service.RoleService;
+import dev.tagtag.module.system.service.DictDataService;
+import dev.tagtag.module.system.service.DictTypeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 启动缓存预热：通过常规服务方法并行加载热点缓存（菜单树、权限编码、部门树、字典、角色权限编码）
+ * 作为 ApplicationRunner 同步执行，Spring Boot 在全部 Runner 结束后才将就绪状态切换为 ACCEPTING_TRAFFIC，
+ * 因此就绪探针会等到预热完成或超时后才通过；预热失败不影响启动，仅记录日志。
+ */
+@Component
+public class CacheWarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmupRunner.class);
+
+    private final CacheWarmupProperties properties;
+    private final MenuService menuService;
+    private final DeptService deptService;
+    private final RoleService roleService;
+    private final DictTypeService dictTypeService;
+    private final DictDataService dictDataService;
+
+    public CacheWarmupRunner(CacheWarmupProperties properties, MenuService menuService, DeptService deptService,
+                             RoleService roleService, DictTypeService dictTypeService, DictDataService dictDataService) {
+        this.properties = properties;
+        this.menuService = menuService;
+        this.deptService = deptService;
+        this.roleService = roleService;
+        this.dictTypeService = dictTypeService;
+        this.dictDataService = dictDataService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Map<String, Runnable> tasks = new LinkedHashMap<>();
+        tasks.put("menuTree", () -> menuService.listTree(null));
+        tasks.put("allPermissionCodes", menuService::listAllPermissionCodes);
+        tasks.put("deptTree", () -> deptService.listTree(null));
+        tasks.put("dict", this::warmDict);
+        tasks.put("roleMenuCodes", this::warmRoleMenuCodes);
+
+        long start = System.currentTimeMillis();
+        int total = tasks.size();
+        AtomicInteger completed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(properties.getParallelism(), total)), r -> {
+            Thread t = new Thread(r, "cache-warmup");
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("cache warm-up started: tasks={}, timeout={}", total, properties.getTimeout());
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(total);
+            tasks.forEach((name, task) -> futures.add(CompletableFuture.runAsync(() -> {
+                long t0 = System.currentTimeMillis();
+                try {
+                    task.run();
+                    log.info("cache warm-up [{}/{}] {} done in {}ms", completed.incrementAndGet(), total, name, System.currentTimeMillis() - t0);
+                } catch (Exception e) {
+                    log.warn("cache warm-up [{}/{}] {} failed in {}ms", completed.incrementAndGet(), total, name, System.currentTimeMillis() - t0, e);
+                }
+            }, executor)));
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            log.info("cache warm-up finished: tasks={}, elapsed={}ms", total, System.currentTimeMillis() - start);
+        } catch (TimeoutException e) {
+            log.warn("cache warm-up timed out: completed={}/{}, elapsed={}ms", completed.get(), total, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("cache warm-up aborted: completed={}/{}", completed.get(), total, e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 预热字典类型列表及每个类型的字典数据
+     */
+    private void warmDict() {
+        List<DictTypeDTO> types = dictTypeService.listAll();
+        if (types == null) {
+            return;
+        }
+        for (DictTypeDTO type : types) {
+            if (StringUtils.hasText(type.getCode())) {
+                dictDataService.listByDictType(type.getCode());
+            }
+        }
+    }
+
+    /**
+     * 预热每个角色的权限编码（单角色用户登录时直接命中）
+     */
+    private void warmRoleMenuCodes() {
+        List<RoleDTO> roles = roleService.listAll();
+        if (roles == null) {
+            return;
+        }
+        for (RoleDTO role : roles) {
+            if (role.getId() != null) {
+                roleService.listMenuCodesByRoleIds(List.of(role.getId()));
+            }
+        }
+    }
+}